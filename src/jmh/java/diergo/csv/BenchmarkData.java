@@ -0,0 +1,71 @@
+package diergo.csv;
+
+import java.io.StringReader;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+import static diergo.csv.CsvGenerator.csvGenerator;
+import static diergo.csv.CsvParserBuilder.csvParser;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Reproducible data for the benchmarks. The same shape and number of rows always result in the same data,
+ * as it is generated using a fixed seed.
+ *
+ * @see CsvGenerator
+ */
+public final class BenchmarkData {
+
+    static final int ROWS = 10000;
+
+    private static final long SEED = 4180L;
+
+    /**
+     * The shapes of generated data. The columns alternate between integers, decimals and text.
+     */
+    public enum Shape {
+        /** few columns of unquoted cells */
+        NARROW(generator -> generator.columns(6)),
+        /** many columns of unquoted cells */
+        WIDE(generator -> generator.columns(60)),
+        /** text containing separators and quotes, so most text cells are quoted */
+        QUOTED(generator -> generator.columns(9).quoting(0.5).embeddingSeparators(0.5)),
+        /** text containing line breaks, so records span multiple lines */
+        MULTILINE(generator -> generator.columns(9).embeddingLineBreaks(0.5));
+
+        private final UnaryOperator<CsvGenerator> configuration;
+
+        Shape(UnaryOperator<CsvGenerator> configuration) {
+            this.configuration = configuration;
+        }
+
+        CsvGenerator generator() {
+            return configuration.apply(csvGenerator(SEED).withNumbers().withHeader());
+        }
+    }
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * The rows of the shape, the first row is the header.
+     */
+    static List<Row> rows(Shape shape, int count) {
+        return csvParser().separatedBy(',').parse(new StringReader(csv(shape, count))).collect(toList());
+    }
+
+    /**
+     * The rows of the shape printed comma separated, one line per row.
+     */
+    static String csv(Shape shape, int count) {
+        return shape.generator().writeTo(new StringBuilder(), count).toString();
+    }
+
+    /**
+     * The types of the columns as generated.
+     */
+    static Map<String, Class<?>> types(Shape shape) {
+        return shape.generator().types();
+    }
+}
@@ -0,0 +1,74 @@
+package diergo.csv;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static diergo.csv.BenchmarkData.ROWS;
+import static diergo.csv.Maps.column;
+import static diergo.csv.Maps.toIndexedMaps;
+import static diergo.csv.Maps.toMaps;
+import static diergo.csv.Maps.toRowsWithHeader;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Converts generated rows to maps and back.
+ * Each operation is a row, so the normalised allocation rate of the GC profiler is the number of bytes per row.
+ */
+@State(Scope.Benchmark)
+@OperationsPerInvocation(ROWS)
+public class MapsBenchmark {
+
+    @Param({"NARROW", "WIDE"})
+    public BenchmarkData.Shape shape;
+
+    private List<Row> rows;
+    private List<Map<String, String>> maps;
+    private List<Map<String, String>> indexedMaps;
+    private String name;
+    private Column column;
+
+    @Setup
+    public void generate() {
+        rows = BenchmarkData.rows(shape, ROWS);
+        maps = rows.stream().map(toMaps()).flatMap(Collection::stream).collect(toList());
+        indexedMaps = rows.stream().map(toIndexedMaps()).flatMap(Collection::stream).collect(toList());
+        Row header = rows.get(0);
+        name = header.get(header.getLength() - 1);
+        column = column(name);
+        column.resolve(header);
+    }
+
+    @Benchmark
+    public void toMapsWithHeader(Blackhole blackhole) {
+        rows.stream().map(toMaps()).flatMap(Collection::stream).forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void toIndexedMapsWithHeader(Blackhole blackhole) {
+        rows.stream().map(toIndexedMaps()).flatMap(Collection::stream).forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void valueByName(Blackhole blackhole) {
+        indexedMaps.forEach(values -> blackhole.consume(values.get(name)));
+    }
+
+    @Benchmark
+    public void valueByColumn(Blackhole blackhole) {
+        indexedMaps.forEach(values -> blackhole.consume(column.getFrom(values)));
+    }
+
+    @Benchmark
+    public void toRows(Blackhole blackhole) {
+        maps.stream().map(toRowsWithHeader()).flatMap(Collection::stream).forEach(blackhole::consume);
+    }
+}
@@ -0,0 +1,69 @@
+package diergo.csv;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.util.Collection;
+
+import static diergo.csv.BenchmarkData.ROWS;
+import static diergo.csv.CsvParserBuilder.csvParser;
+import static diergo.csv.Readers.asLines;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Parses generated data line by line, from a reader and from bytes.
+ * Each operation is a row, so the normalised allocation rate of the GC profiler is the number of bytes per row.
+ */
+@State(Scope.Benchmark)
+@OperationsPerInvocation(ROWS + 1)
+public class ParserBenchmark {
+
+    @Param({"NARROW", "WIDE", "QUOTED", "MULTILINE"})
+    public BenchmarkData.Shape shape;
+
+    @Param({"false", "true"})
+    public boolean autoSeparator;
+
+    private String csv;
+    private byte[] bytes;
+    private CsvParserBuilder builder;
+    private CsvParserBuilder recordingBuilder;
+
+    @Setup
+    public void generate() {
+        csv = BenchmarkData.csv(shape, ROWS);
+        bytes = csv.getBytes(UTF_8);
+        builder = autoSeparator ? csvParser() : csvParser().separatedBy(',');
+        recordingBuilder = (autoSeparator ? csvParser() : csvParser().separatedBy(',')).recordingMetrics(CsvMetrics.csvMetrics());
+    }
+
+    @Benchmark
+    public void lines(Blackhole blackhole) {
+        asLines(new StringReader(csv))
+                .map(builder.build())
+                .flatMap(Collection::stream)
+                .forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void reader(Blackhole blackhole) {
+        builder.parse(new StringReader(csv)).forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void bytes(Blackhole blackhole) {
+        builder.parse(new ByteArrayInputStream(bytes), UTF_8).forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void bytesRecordingMetrics(Blackhole blackhole) {
+        recordingBuilder.parse(new ByteArrayInputStream(bytes), UTF_8).forEach(blackhole::consume);
+    }
+}
@@ -0,0 +1,81 @@
+package diergo.csv;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.List;
+import java.util.function.Function;
+
+import static diergo.csv.Appendables.buffered;
+import static diergo.csv.Appendables.toAppendable;
+import static diergo.csv.BenchmarkData.ROWS;
+import static diergo.csv.CsvPrinterBuilder.csvPrinter;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Prints generated rows to lines and collects them.
+ * Each operation is a row, so the normalised allocation rate of the GC profiler is the number of bytes per row.
+ */
+@State(Scope.Benchmark)
+@OperationsPerInvocation(ROWS + 1)
+public class PrinterBenchmark {
+
+    @Param({"NARROW", "WIDE", "QUOTED", "MULTILINE"})
+    public BenchmarkData.Shape shape;
+
+    private List<Row> rows;
+    private Function<Row, String> printer;
+
+    @Setup
+    public void generate() {
+        rows = BenchmarkData.rows(shape, ROWS);
+        printer = csvPrinter().separatedBy(',').build();
+    }
+
+    @Benchmark
+    public void print(Blackhole blackhole) {
+        rows.stream().map(printer).forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public StringBuilder collect() {
+        return rows.stream().map(printer).collect(toAppendable(new StringBuilder(), '\n'));
+    }
+
+    @Benchmark
+    public StringBuilder printTo() {
+        StringBuilder out = new StringBuilder();
+        rows.forEach(csvPrinter().separatedBy(',').printingTo(out, '\n'));
+        return out;
+    }
+
+    @Benchmark
+    public StringBuilder printParallel() {
+        return csvPrinter().separatedBy(',').print(rows.parallelStream(), new StringBuilder(), '\n');
+    }
+
+    @Benchmark
+    public void printToStream() throws IOException {
+        try (Writer out = buffered(DISCARDING, UTF_8)) {
+            rows.forEach(csvPrinter().separatedBy(',').printingTo(out, '\n'));
+        }
+    }
+
+    private static final OutputStream DISCARDING = new OutputStream() {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    };
+}
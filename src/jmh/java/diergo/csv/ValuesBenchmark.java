@@ -0,0 +1,68 @@
+package diergo.csv;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static diergo.csv.BenchmarkData.ROWS;
+import static diergo.csv.Maps.toMaps;
+import static diergo.csv.Maps.withValuesMapped;
+import static diergo.csv.ValueParserBuilder.valueParser;
+import static diergo.csv.Values.parsedValue;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Parses the values of generated maps according to the column types.
+ * Each operation is a row, so the normalised allocation rate of the GC profiler is the number of bytes per row.
+ */
+@State(Scope.Benchmark)
+@OperationsPerInvocation(ROWS)
+public class ValuesBenchmark {
+
+    @Param({"NARROW", "WIDE"})
+    public BenchmarkData.Shape shape;
+
+    private List<Row> rows;
+    private List<Map<String, String>> maps;
+    private Function<Map<String, String>, Map<String, Object>> parser;
+    private ValueParser valueParser;
+
+    @Setup
+    public void generate() {
+        List<Row> generated = BenchmarkData.rows(shape, ROWS);
+        rows = generated.subList(1, generated.size());
+        maps = generated.stream().map(toMaps()).flatMap(Collection::stream).collect(toList());
+        parser = withValuesMapped(HashMap::new, parsedValue(BenchmarkData.types(shape)));
+        valueParser = valueParser().withTypes(BenchmarkData.types(shape)).build();
+        valueParser.apply(generated.get(0));
+    }
+
+    @Benchmark
+    public void parsedValues(Blackhole blackhole) {
+        maps.stream().map(parser).forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void valuesParsed(Blackhole blackhole) {
+        rows.stream().map(valueParser).forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void valuesByIndex(Blackhole blackhole) {
+        for (Row row : rows) {
+            for (int i = 0; i < row.getLength(); i++) {
+                blackhole.consume(valueParser.get(row, i));
+            }
+        }
+    }
+}
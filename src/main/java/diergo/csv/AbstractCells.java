@@ -0,0 +1,82 @@
+package diergo.csv;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * The base of all data rows. Rows are equal if they contain the same cells, regardless of the implementation.
+ * The cells are accessed by index, the iterator is based on that.
+ */
+abstract class AbstractCells implements Row {
+
+    @Override
+    public abstract String get(int index);
+
+    @Override
+    public boolean isComment() {
+        return false;
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        return new Iterator<String>() {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < getLength();
+            }
+
+            @Override
+            public String next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return get(index++);
+            }
+        };
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof Row) || ((Row) obj).isComment()) {
+            return false;
+        }
+        Row other = (Row) obj;
+        if (getLength() != other.getLength()) {
+            return false;
+        }
+        int index = 0;
+        for (String cell : other) {
+            if (!Objects.equals(get(index++), cell)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hashCode = 1;
+        for (int i = 0; i < getLength(); i++) {
+            hashCode = 31 * hashCode + Objects.hashCode(get(i));
+        }
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder("[");
+        for (int i = 0; i < getLength(); i++) {
+            if (i > 0) {
+                result.append(", ");
+            }
+            result.append(get(i));
+        }
+        return result.append(']').toString();
+    }
+}
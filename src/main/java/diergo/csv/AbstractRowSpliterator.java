@@ -0,0 +1,272 @@
+package diergo.csv;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Reads rows from a reusable window of input data using a {@link RecordScanner}. The subclasses define the type of
+ * the window and how it is filled. The configuration of the {@link RowParser} is used, but none of its line state.
+ */
+abstract class AbstractRowSpliterator implements Spliterator<Row> {
+
+    static final int BUFFER_SIZE = 8192;
+
+    final RowParser parser;
+    final RecordScanner scanner;
+    int position;
+    int limit;
+    boolean endOfInput;
+    private boolean skipLineFeed;
+    private boolean separatorDetermined;
+    private int lineNo;
+    private long ioNanos;
+    private long windowOffset;
+    private Iterator<Row> pending = Collections.emptyIterator();
+    private final CsvEvents.Chunk chunk;
+    private boolean first = true;
+
+    AbstractRowSpliterator(RowParser parser, RecordScanner scanner) {
+        this.parser = parser;
+        this.scanner = scanner;
+        this.chunk = parser.events.parseChunk();
+        scanner.limit(parser.limits);
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Row> action) {
+        while (!pending.hasNext()) {
+            Row row = nextRow();
+            if (row != null) {
+                action.accept(row);
+                return true;
+            }
+            if (!pending.hasNext() && isExhausted()) {
+                chunk.end();
+                return false;
+            }
+        }
+        action.accept(pending.next());
+        return true;
+    }
+
+    @Override
+    public Spliterator<Row> trySplit() {
+        return null;
+    }
+
+    @Override
+    public long estimateSize() {
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL;
+    }
+
+    /**
+     * Marks the input as a part not starting at the beginning, so its first record is no header.
+     */
+    void startingWithinInput() {
+        first = false;
+    }
+
+    /**
+     * Scans the record at the current position.
+     *
+     * @see RecordScanner#scan(char[], int, int, boolean)
+     */
+    abstract int scan();
+
+    /**
+     * Creates the row of the record scanned at the current position.
+     */
+    abstract Row toRow();
+
+    /**
+     * A view of the record scanned at the current position valid until the next record is read.
+     */
+    abstract ScannedCells view();
+
+    /**
+     * The character at the index of the window, used for line breaks.
+     */
+    abstract char charAt(int index);
+
+    /**
+     * The text of the window between the indices.
+     */
+    abstract String text(int from, int to);
+
+    /**
+     * Moves the data from the current position to the start of the window, enlarges the window if it is full and
+     * reads more data. The end of input has to be signaled.
+     */
+    abstract void fill();
+
+    /**
+     * Reads the next record, the result is {@code null} at the end of input, if the record is filtered or if the
+     * rows of an error handler are pending. The time is recorded if metrics are configured.
+     */
+    private Row nextRow() {
+        if (parser.metrics == null) {
+            return scanRow();
+        }
+        long start = System.nanoTime();
+        long ioBefore = ioNanos;
+        try {
+            return scanRow();
+        } finally {
+            parser.metrics.io(ioNanos);
+            parser.metrics.processing(System.nanoTime() - start - (ioNanos - ioBefore));
+            ioNanos = 0;
+        }
+    }
+
+    private Row scanRow() {
+        if (isExhausted()) {
+            return null;
+        }
+        if (!separatorDetermined) {
+            determineSeparator();
+        }
+        scanner.reset();
+        int end;
+        while ((end = scan()) == RecordScanner.INCOMPLETE) {
+            refill();
+        }
+        long recordStart = windowOffset + position;
+        if (end == RecordScanner.ERROR) {
+            CsvParseException error = scanner.error(lineNo, recordStart);
+            String line = skipErroneousLine();
+            chunk.error((int) (windowOffset + position - recordStart));
+            pending = parser.handleError(line, error).iterator();
+            return null;
+        }
+        Row row = RowParser.EMPTY_LINE;
+        if (!scanner.isBlank()) {
+            boolean accepted = parser.accepts(scanner, this::view, first);
+            first = first && scanner.isComment();
+            if (accepted) {
+                parser.select(scanner, this::toRow);
+                row = toRow();
+            } else {
+                row = null;
+            }
+        }
+        lineNo += scanner.lineBreaks() + 1;
+        consumeLineBreak(position + end);
+        int length = (int) (windowOffset + position - recordStart);
+        parser.record(scanner, length, row != null);
+        chunk.record(length, row != null);
+        return row;
+    }
+
+    private boolean isExhausted() {
+        if (position == limit && !endOfInput) {
+            refill();
+        }
+        if (skipLineFeed && position < limit) {
+            skipLineFeed = false;
+            if (charAt(position) == '\n') {
+                position++;
+                return isExhausted();
+            }
+        }
+        return position == limit && endOfInput;
+    }
+
+    /**
+     * Determines the separator from the first line, which is cut at the maximal record length.
+     */
+    private void determineSeparator() {
+        int end = findLineBreak(position);
+        while (end == limit && !endOfInput && end - position <= parser.limits.maxLength) {
+            int scanned = end - position;
+            refill();
+            end = findLineBreak(position + scanned);
+        }
+        String line = text(position, position + Math.min(end - position, parser.limits.maxLength));
+        boolean comment = parser.commentStart != null && line.startsWith(parser.commentStart);
+        if (!RowParser.isEmpty(line) && !comment) {
+            scanner.separator = parser.determiner.apply(line);
+            separatorDetermined = true;
+        }
+    }
+
+    /**
+     * Skips the erroneous record up to the next line break after the position scanned. The line passed to the
+     * error handler is cut at the maximal record length, the rest of a longer line is dropped while reading, so
+     * the window does not grow beyond the limit.
+     */
+    private String skipErroneousLine() {
+        int maxLength = parser.limits.maxLength;
+        String kept = null;
+        int i = position + scanner.scanned();
+        while (true) {
+            i = findLineBreak(i);
+            if (i < limit || endOfInput) {
+                break;
+            }
+            if (kept == null && i - position > maxLength) {
+                kept = text(position, position + maxLength);
+            }
+            if (kept != null) {
+                position = i;
+            }
+            int scanned = i - position;
+            refill();
+            i = position + scanned;
+        }
+        String line = kept == null ? text(position, position + Math.min(i - position, maxLength)) : kept;
+        lineNo += scanner.lineBreaks() + 1;
+        consumeLineBreak(i);
+        return line.replace("\r\n", "\n").replace('\r', '\n');
+    }
+
+    /**
+     * The first line break in the window starting at the index or the limit of the window.
+     */
+    private int findLineBreak(int from) {
+        for (int i = from; i < limit; i++) {
+            char c = charAt(i);
+            if (c == '\n' || c == '\r') {
+                return i;
+            }
+        }
+        return limit;
+    }
+
+    /**
+     * Fills the window keeping track of the offset of the window within the input, the time is recorded if
+     * metrics are configured.
+     */
+    private void refill() {
+        int before = position;
+        if (parser.metrics == null) {
+            fill();
+        } else {
+            long start = System.nanoTime();
+            fill();
+            ioNanos += System.nanoTime() - start;
+        }
+        windowOffset += before - position;
+    }
+
+    private void consumeLineBreak(int end) {
+        position = end;
+        if (position < limit) {
+            if (charAt(position++) == '\r') {
+                if (position < limit) {
+                    if (charAt(position) == '\n') {
+                        position++;
+                    }
+                } else {
+                    skipLineFeed = true;
+                }
+            }
+        }
+    }
+}
@@ -1,12 +1,18 @@
 package diergo.csv;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.time.Duration;
 import java.util.EnumSet;
 import java.util.Set;
 import java.util.function.*;
 import java.util.stream.Collector;
 import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
 
 import static java.util.EnumSet.noneOf;
 import static java.util.stream.Collector.Characteristics.CONCURRENT;
@@ -83,6 +89,84 @@ public final class Appendables {
         return new StringAppendable<>(out, CRLF);
     }
 
+    /**
+     * Creates a buffered writer encoding characters to an output stream in large blocks.
+     * The data is written if the buffer is full, on {@link Writer#flush() flush} and on close only.
+     *
+     * @see #buffered(OutputStream, Charset, int, Duration)
+     * @since 3.3.0
+     */
+    public static Writer buffered(OutputStream out, Charset charset) {
+        return new BufferedSink(out, charset, BufferedSink.BUFFER_SIZE, BufferedSink.UNBOUNDED);
+    }
+
+    /**
+     * Creates a buffered writer encoding characters to an output stream in large blocks. The writer can be used
+     * as the target of {@link #toAppendable(Appendable)} or {@link CsvPrinterBuilder#printingTo(Appendable)}:
+     * each line is written to the buffer by a single call, so lines are not mixed up concurrently.
+     * Closing the writer writes all pending data and closes the stream.
+     *
+     * @param bufferSize the number of characters buffered and the size of blocks written
+     * @param maxDelay   the maximal time characters are kept in the buffer, flushed by a timer thread,
+     *                   unbounded if too long for nanoseconds
+     * @since 3.3.0
+     */
+    public static Writer buffered(OutputStream out, Charset charset, int bufferSize, Duration maxDelay) {
+        return new BufferedSink(out, charset, bufferSize, delayNanos(maxDelay));
+    }
+
+    /**
+     * Creates a buffered writer encoding characters to a channel in large blocks.
+     * The data is written if the buffer is full, on {@link Writer#flush() flush} and on close only.
+     *
+     * @see #buffered(WritableByteChannel, Charset, int, Duration)
+     * @since 3.3.0
+     */
+    public static Writer buffered(WritableByteChannel out, Charset charset) {
+        return new BufferedSink(out, charset, BufferedSink.BUFFER_SIZE, BufferedSink.UNBOUNDED);
+    }
+
+    /**
+     * Creates a buffered writer encoding characters to a channel in large blocks.
+     * Closing the writer writes all pending data and closes the channel.
+     *
+     * @param bufferSize the number of characters buffered and the size of blocks written
+     * @param maxDelay   the maximal time characters are kept in the buffer, flushed by a timer thread,
+     *                   unbounded if too long for nanoseconds
+     * @see #buffered(OutputStream, Charset, int, Duration)
+     * @since 3.3.0
+     */
+    public static Writer buffered(WritableByteChannel out, Charset charset, int bufferSize, Duration maxDelay) {
+        return new BufferedSink(out, charset, bufferSize, delayNanos(maxDelay));
+    }
+
+    private static long delayNanos(Duration maxDelay) {
+        return maxDelay.compareTo(Duration.ofNanos(BufferedSink.UNBOUNDED)) >= 0 ? BufferedSink.UNBOUNDED : maxDelay.toNanos();
+    }
+
+    /**
+     * Creates a stream compressing data in gzip format using buffers of the default size.
+     *
+     * @see #gzipped(OutputStream, int)
+     * @since 3.3.0
+     */
+    public static OutputStream gzipped(OutputStream out) throws IOException {
+        return gzipped(out, BufferedSink.BUFFER_SIZE);
+    }
+
+    /**
+     * Creates a stream compressing data in gzip format, typically used as target of a
+     * {@linkplain #buffered(OutputStream, Charset) buffered writer}. Closing the stream finishes the compressed
+     * data and closes the target.
+     *
+     * @param bufferSize the size of the buffer for compressed data
+     * @see Readers#gzipped(java.io.InputStream, int)
+     * @since 3.3.0
+     */
+    public static OutputStream gzipped(OutputStream out, int bufferSize) throws IOException {
+        return new GZIPOutputStream(out, bufferSize);
+    }
+
     private Appendables() {
     }
 
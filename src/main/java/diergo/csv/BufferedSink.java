@@ -0,0 +1,362 @@
+package diergo.csv;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Writes characters encoded to an output stream or a channel in large blocks. The characters are gathered in a
+ * reusable buffer and encoded into a reusable byte buffer, which is written if it is full only. Additionally all
+ * pending data is written and the target is flushed by a shared timer thread when the first pending character
+ * reaches the maximal delay, so the output of an idle producer is flushed, too. Without a maximal delay no timer
+ * is used and the clock is not read. A failure of a timed flush is thrown by the next call.
+ * Unmappable characters are replaced.
+ * <p>
+ * If the charset is {@linkplain RecordBoundaries#isAsciiCompatible(Charset) ASCII compatible}, ASCII characters
+ * are copied as bytes directly in runs, only other characters are passed to the encoder.
+ * Rows can be {@linkplain #print(Row, RowPrinter, String) printed} to the sink directly.
+ * <p>
+ * All methods lock the sink, so each call is written as a whole when used concurrently.
+ * Closing the sink writes all pending data and closes the target.
+ *
+ * @see Appendables#buffered(OutputStream, Charset, int, java.time.Duration)
+ * @see Appendables#buffered(WritableByteChannel, Charset, int, java.time.Duration)
+ */
+class BufferedSink extends Writer {
+
+    static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * The maximal delay of a sink flushed on close, if full or on request only.
+     */
+    static final long UNBOUNDED = Long.MAX_VALUE;
+
+    private final Object monitor = new Object();
+    private final Appendable unlocked = new Unlocked();
+    private final OutputStream stream;
+    private final WritableByteChannel channel;
+    private final CharsetEncoder encoder;
+    private final boolean ascii;
+    private final long maxDelayNanos;
+    private final CharBuffer chars;
+    private final ByteBuffer bytes;
+    private boolean pending;
+    private ScheduledFuture<?> timedFlush;
+    private IOException failure;
+    private boolean closed;
+
+    BufferedSink(OutputStream stream, Charset charset, int bufferSize, long maxDelayNanos) {
+        this(stream, null, charset, bufferSize, maxDelayNanos);
+    }
+
+    BufferedSink(WritableByteChannel channel, Charset charset, int bufferSize, long maxDelayNanos) {
+        this(null, channel, charset, bufferSize, maxDelayNanos);
+    }
+
+    private BufferedSink(OutputStream stream, WritableByteChannel channel, Charset charset, int bufferSize, long maxDelayNanos) {
+        this.stream = stream;
+        this.channel = channel;
+        this.encoder = charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.ascii = RecordBoundaries.isAsciiCompatible(charset);
+        this.maxDelayNanos = maxDelayNanos;
+        this.chars = CharBuffer.allocate(bufferSize);
+        this.bytes = ByteBuffer.allocate(Math.max(bufferSize, (int) Math.ceil(encoder.maxBytesPerChar())));
+    }
+
+    /**
+     * Prints the row followed by the line separator as a whole. The cells are streamed into the buffer,
+     * no string is created unless a cell is quoted or not materialised yet.
+     */
+    void print(Row row, RowPrinter printer, String lineSep) throws IOException {
+        synchronized (monitor) {
+            ensureOpen();
+            printer.printTo(row, unlocked).append(lineSep);
+            written();
+        }
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        synchronized (monitor) {
+            ensureOpen();
+            put((char) c);
+            written();
+        }
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        synchronized (monitor) {
+            ensureOpen();
+            put(CharBuffer.wrap(cbuf), off, off + len);
+            written();
+        }
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        append(str, off, off + len);
+    }
+
+    @Override
+    public Writer append(CharSequence csq) throws IOException {
+        CharSequence sequence = csq == null ? "null" : csq;
+        return append(sequence, 0, sequence.length());
+    }
+
+    /**
+     * Copies the characters into the buffer without creating a string.
+     */
+    @Override
+    public Writer append(CharSequence csq, int start, int end) throws IOException {
+        CharSequence sequence = csq == null ? "null" : csq;
+        synchronized (monitor) {
+            ensureOpen();
+            put(sequence, start, end);
+            written();
+        }
+        return this;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        synchronized (monitor) {
+            ensureOpen();
+            flushPending();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (monitor) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (timedFlush != null) {
+                timedFlush.cancel(false);
+            }
+            try {
+                encode(true);
+                while (encoder.flush(bytes).isOverflow()) {
+                    writeBytes();
+                }
+                writeBytes();
+            } finally {
+                if (stream != null) {
+                    stream.close();
+                } else {
+                    channel.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * Stores an ASCII character directly if nothing is left to be encoded before, otherwise it is gathered to be
+     * encoded with the preceding characters.
+     */
+    private void put(char c) throws IOException {
+        if (ascii && c < 0x80) {
+            if (chars.position() > 0) {
+                encode(false);
+            }
+            if (chars.position() == 0) {
+                if (!bytes.hasRemaining()) {
+                    writeBytes();
+                }
+                bytes.put((byte) c);
+                return;
+            }
+        }
+        if (!chars.hasRemaining()) {
+            encode(false);
+        }
+        chars.put(c);
+    }
+
+    private void put(CharSequence sequence, int start, int end) throws IOException {
+        if (ascii) {
+            putAscii(sequence, start, end);
+            return;
+        }
+        int position = start;
+        while (position < end) {
+            if (!chars.hasRemaining()) {
+                encode(false);
+            }
+            int count = Math.min(end - position, chars.remaining());
+            if (sequence instanceof String) {
+                ((String) sequence).getChars(position, position + count, chars.array(), chars.position());
+                ((Buffer) chars).position(chars.position() + count);
+            } else if (sequence instanceof StringBuilder) {
+                ((StringBuilder) sequence).getChars(position, position + count, chars.array(), chars.position());
+                ((Buffer) chars).position(chars.position() + count);
+            } else {
+                for (int i = position; i < position + count; i++) {
+                    chars.put(sequence.charAt(i));
+                }
+            }
+            position += count;
+        }
+    }
+
+    /**
+     * Copies runs of ASCII characters to the bytes directly, other characters and ASCII characters following a
+     * pending surrogate are put one by one.
+     */
+    private void putAscii(CharSequence sequence, int start, int end) throws IOException {
+        int i = start;
+        while (i < end) {
+            char c = sequence.charAt(i);
+            if (c >= 0x80 || chars.position() > 0) {
+                put(c);
+                i++;
+                continue;
+            }
+            if (!bytes.hasRemaining()) {
+                writeBytes();
+            }
+            byte[] target = bytes.array();
+            int position = bytes.position();
+            int runEnd = Math.min(end, i + bytes.remaining());
+            while (i < runEnd && (c = sequence.charAt(i)) < 0x80) {
+                target[position++] = (byte) c;
+                i++;
+            }
+            ((Buffer) bytes).position(position);
+        }
+    }
+
+    /**
+     * Schedules the timed flush for the first pending characters.
+     */
+    private void written() throws IOException {
+        if (pending || maxDelayNanos == UNBOUNDED) {
+            return;
+        }
+        if (maxDelayNanos <= 0) {
+            flushPending();
+            return;
+        }
+        pending = true;
+        timedFlush = Timer.EXECUTOR.schedule(this::flushDelayed, maxDelayNanos, NANOSECONDS);
+    }
+
+    private void flushDelayed() {
+        synchronized (monitor) {
+            if (pending && !closed && failure == null) {
+                try {
+                    flushPending();
+                } catch (IOException e) {
+                    failure = e;
+                }
+            }
+        }
+    }
+
+    private void flushPending() throws IOException {
+        encode(false);
+        writeBytes();
+        if (stream != null) {
+            stream.flush();
+        }
+        pending = false;
+        if (timedFlush != null) {
+            timedFlush.cancel(false);
+            timedFlush = null;
+        }
+    }
+
+    private void encode(boolean endOfInput) throws IOException {
+        // calling Buffer methods, as Java 9 overrides them covariantly
+        ((Buffer) chars).flip();
+        CoderResult result = encoder.encode(chars, bytes, endOfInput);
+        while (result.isOverflow()) {
+            writeBytes();
+            result = encoder.encode(chars, bytes, endOfInput);
+        }
+        chars.compact();
+    }
+
+    private void writeBytes() throws IOException {
+        ((Buffer) bytes).flip();
+        CsvEvents.Write event = bytes.hasRemaining() ? CsvEvents.current().write(bytes.limit()) : CsvEvents.Write.NONE;
+        if (stream != null) {
+            stream.write(bytes.array(), 0, bytes.limit());
+        } else {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+        }
+        event.end();
+        ((Buffer) bytes).clear();
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Sink closed");
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * The timer shared by all sinks, its thread ends if there is no flush scheduled for a while.
+     */
+    private static final class Timer {
+        static final ScheduledThreadPoolExecutor EXECUTOR = create();
+
+        private static ScheduledThreadPoolExecutor create() {
+            ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, task -> {
+                Thread thread = ReadAheadInputStream.newThread(task);
+                thread.setName("csv-timed-flush");
+                return thread;
+            });
+            executor.setKeepAliveTime(1, SECONDS);
+            executor.allowCoreThreadTimeOut(true);
+            executor.setRemoveOnCancelPolicy(true);
+            return executor;
+        }
+    }
+
+    /**
+     * Puts characters without locking and checking the delay, used while the sink is locked.
+     */
+    private final class Unlocked implements Appendable {
+
+        @Override
+        public Appendable append(CharSequence csq) throws IOException {
+            put(csq, 0, csq.length());
+            return this;
+        }
+
+        @Override
+        public Appendable append(CharSequence csq, int start, int end) throws IOException {
+            put(csq, start, end);
+            return this;
+        }
+
+        @Override
+        public Appendable append(char c) throws IOException {
+            put(c);
+            return this;
+        }
+    }
+}
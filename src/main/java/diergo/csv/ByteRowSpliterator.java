@@ -0,0 +1,207 @@
+package diergo.csv;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Reads rows from an input stream using a reusable byte window. Separators, quotes and line breaks are found on
+ * the byte level, so no characters are decoded while scanning. Only the cells accessed are decoded.
+ * If the parser is reusing rows, a single row instance references the window.
+ * <p>
+ * If the parser validates the encoding, each record is checked before creating the row and malformed records
+ * are passed to the error handler. Otherwise malformed input is replaced when decoding.
+ *
+ * @see #isApplicable(RowParser, Charset)
+ */
+class ByteRowSpliterator extends AbstractRowSpliterator {
+
+    private final InputStream in;
+    private final Charset charset;
+    private final EncodedCells reused;
+    private final EncodedCells view;
+    private byte[] buffer;
+    private CharsetDecoder decoder;
+    private ByteBuffer encoded;
+    private CharBuffer decoded;
+
+    ByteRowSpliterator(InputStream in, Charset charset, RowParser parser) {
+        this(in, charset, parser, BUFFER_SIZE);
+    }
+
+    ByteRowSpliterator(InputStream in, Charset charset, RowParser parser, int bufferSize) {
+        super(parser, new RecordScanner(',', parser.quote, parser.commentStart, parser.laxMode, charset));
+        this.in = in;
+        this.charset = charset;
+        this.buffer = new byte[bufferSize];
+        this.reused = parser.reusingRows ? new EncodedCells((byte) parser.quote, charset) : null;
+        this.view = reused == null ? new EncodedCells((byte) parser.quote, charset) : reused;
+    }
+
+    /**
+     * Whether data in the charset can be parsed on the byte level with the configuration of the parser.
+     * This needs all possible separators and the quote to be ASCII characters.
+     *
+     * @see RecordBoundaries#isAsciiCompatible(Charset)
+     */
+    static boolean isApplicable(RowParser parser, Charset charset) {
+        if (!RecordBoundaries.isAsciiCompatible(charset) || parser.quote >= 0x80) {
+            return false;
+        }
+        for (int i = 0; i < parser.separators.length(); i++) {
+            if (parser.separators.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    int scan() {
+        int end = scanner.scan(buffer, position, limit, endOfInput);
+        if (end > 0 && parser.validatingEncoding) {
+            int invalid = findMalformedInput(position, position + end);
+            if (invalid >= 0) {
+                return scanner.malformed(invalid - position);
+            }
+        }
+        return end;
+    }
+
+    @Override
+    Row toRow() {
+        return reused == null ? scanner.toRow(buffer, position) : scanner.toRow(buffer, position, reused);
+    }
+
+    @Override
+    ScannedCells view() {
+        return scanner.view(buffer, position, view);
+    }
+
+    @Override
+    char charAt(int index) {
+        return (char) (buffer[index] & 0xff);
+    }
+
+    @Override
+    String text(int from, int to) {
+        return new String(buffer, from, to - from, charset);
+    }
+
+    @Override
+    void fill() {
+        if (position > 0) {
+            System.arraycopy(buffer, position, buffer, 0, limit - position);
+            limit -= position;
+            position = 0;
+        }
+        if (limit == buffer.length) {
+            byte[] larger = new byte[2 * buffer.length];
+            System.arraycopy(buffer, 0, larger, 0, limit);
+            buffer = larger;
+        }
+        try {
+            int read = in.read(buffer, limit, buffer.length - limit);
+            if (read < 0) {
+                endOfInput = true;
+            } else {
+                limit += read;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Finds the first byte of malformed or unmappable input, the decoder and the buffers are reused for all records.
+     *
+     * @return the index of the malformed input or {@code -1} if all input is well-formed
+     */
+    private int findMalformedInput(int from, int to) {
+        if (charset.equals(UTF_8)) {
+            return findMalformedUtf8(buffer, from, to);
+        }
+        if (charset.equals(ISO_8859_1)) {
+            return -1;
+        }
+        if (decoder == null) {
+            decoder = charset.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPORT)
+                    .onUnmappableCharacter(CodingErrorAction.REPORT);
+            decoded = CharBuffer.allocate(BUFFER_SIZE);
+        }
+        if (encoded == null || encoded.array() != buffer) {
+            encoded = ByteBuffer.wrap(buffer);
+        }
+        ((Buffer) encoded).limit(to).position(from);
+        decoder.reset();
+        CoderResult result;
+        do {
+            ((Buffer) decoded).clear();
+            result = decoder.decode(encoded, decoded, true);
+        } while (result.isOverflow());
+        return result.isError() ? encoded.position() : -1;
+    }
+
+    /**
+     * Finds the first byte of a malformed UTF-8 sequence, overlong encodings and surrogates are malformed too.
+     *
+     * @return the index of the malformed sequence or {@code -1} if all input is well-formed
+     */
+    static int findMalformedUtf8(byte[] data, int from, int to) {
+        int i = from;
+        while (i < to) {
+            int b = data[i] & 0xff;
+            if (b < 0x80) {
+                i++;
+                continue;
+            }
+            int length;
+            int min = 0x80;
+            int max = 0xbf;
+            if (b >= 0xc2 && b <= 0xdf) {
+                length = 2;
+            } else if (b >= 0xe0 && b <= 0xef) {
+                length = 3;
+                if (b == 0xe0) {
+                    min = 0xa0;
+                } else if (b == 0xed) {
+                    max = 0x9f;
+                }
+            } else if (b >= 0xf0 && b <= 0xf4) {
+                length = 4;
+                if (b == 0xf0) {
+                    min = 0x90;
+                } else if (b == 0xf4) {
+                    max = 0x8f;
+                }
+            } else {
+                return i;
+            }
+            if (i + length > to) {
+                return i;
+            }
+            int second = data[i + 1] & 0xff;
+            if (second < min || second > max) {
+                return i;
+            }
+            for (int j = 2; j < length; j++) {
+                if ((data[i + j] & 0xc0) != 0x80) {
+                    return i;
+                }
+            }
+            i += length;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,60 @@
+package diergo.csv;
+
+/**
+ * Finds the next structural byte of CSV data, which is a separator, a quote or a line break. This is the inner
+ * loop of scanning records on the byte level, everything in between is cell content.
+ * <p>
+ * On Java 8 the bytes are compared one by one. On Java 11 and newer the multi-release jar contains
+ * {@code SwarByteScanner} comparing 8 bytes at a time using long words, it is used if available.
+ *
+ * @see RecordScanner#scan(byte[], int, int, boolean)
+ */
+abstract class ByteScanner {
+
+    private static final ByteScanner BEST = load("diergo.csv.SwarByteScanner");
+
+    /**
+     * The fastest scanner available on the running Java version.
+     */
+    static ByteScanner best() {
+        return BEST;
+    }
+
+    /**
+     * The scanner comparing single bytes.
+     */
+    static ByteScanner scalar() {
+        return Scalar.INSTANCE;
+    }
+
+    /**
+     * Finds the first separator, quote, carriage return or line feed.
+     *
+     * @return the index found or {@code to} if there is none
+     */
+    abstract int next(byte[] data, int from, int to, byte separator, byte quote);
+
+    static ByteScanner load(String className) {
+        try {
+            return (ByteScanner) Class.forName(className).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError | ClassCastException e) {
+            return scalar();
+        }
+    }
+
+    private static final class Scalar extends ByteScanner {
+
+        static final ByteScanner INSTANCE = new Scalar();
+
+        @Override
+        int next(byte[] data, int from, int to, byte separator, byte quote) {
+            for (int i = from; i < to; i++) {
+                byte b = data[i];
+                if (b == separator || b == quote || b == '\n' || b == '\r') {
+                    return i;
+                }
+            }
+            return to;
+        }
+    }
+}
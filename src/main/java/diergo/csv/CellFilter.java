@@ -0,0 +1,98 @@
+package diergo.csv;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * The conditions a record has to fulfil to be kept, each one testing a single cell. The cells are passed as
+ * character sequences referencing the scanned record where possible, so rejected records create no strings.
+ * Columns referenced by name are resolved from the header row, which is always kept.
+ *
+ * @see CsvParserBuilder#filteringOn(int, Predicate)
+ * @see CsvParserBuilder#filteringOn(String, Predicate)
+ */
+class CellFilter {
+
+    private final List<ColumnSelection> columns;
+    private final List<Predicate<? super CharSequence>> predicates;
+
+    CellFilter() {
+        this(new ArrayList<>(), new ArrayList<>());
+    }
+
+    private CellFilter(List<ColumnSelection> columns, List<Predicate<? super CharSequence>> predicates) {
+        this.columns = columns;
+        this.predicates = predicates;
+    }
+
+    /**
+     * Creates a new filter with an additional condition.
+     */
+    CellFilter and(ColumnSelection column, Predicate<? super CharSequence> predicate) {
+        CellFilter filter = new CellFilter(new ArrayList<>(columns), new ArrayList<>(predicates));
+        filter.columns.add(column);
+        filter.predicates.add(predicate);
+        return filter;
+    }
+
+    /**
+     * Creates a filter with unresolved column names, so parsers do not share the header.
+     */
+    CellFilter copy() {
+        List<ColumnSelection> unresolved = new ArrayList<>();
+        for (ColumnSelection column : columns) {
+            unresolved.add(column.copy());
+        }
+        return new CellFilter(unresolved, predicates);
+    }
+
+    /**
+     * Whether there are column names not resolved yet.
+     */
+    boolean needsHeader() {
+        for (ColumnSelection column : columns) {
+            if (column.columns() == null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether there are columns referenced by name, so the header row is kept.
+     */
+    boolean hasNames() {
+        for (ColumnSelection column : columns) {
+            if (column.isByName()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Resolves all column names using the header row.
+     */
+    void resolve(Row header) {
+        for (ColumnSelection column : columns) {
+            if (column.columns() == null) {
+                column.resolve(header);
+            }
+        }
+    }
+
+    /**
+     * Tests all conditions on the record, cells missing in the record are empty.
+     */
+    boolean test(ScannedCells record) {
+        for (int i = 0; i < columns.size(); i++) {
+            int column = columns.get(i).columns()[0];
+            CharSequence cell = column < record.getLength() ? record.sequence(column) : "";
+            if (!predicates.get(i).test(cell)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -5,7 +5,7 @@ import java.util.List;
 
 import static java.util.Arrays.asList;
 
-class Cells implements Row {
+class Cells extends AbstractCells {
 
     private final List<String> cells;
 
@@ -18,8 +18,8 @@ class Cells implements Row {
     }
 
     @Override
-    public boolean isComment() {
-        return false;
+    public String get(int index) {
+        return cells.get(index);
     }
 
     @Override
@@ -31,26 +31,4 @@ class Cells implements Row {
     public Iterator<String> iterator() {
         return cells.iterator();
     }
-
-    @Override
-    public boolean equals(Object obj) {
-        if (this == obj) {
-            return true;
-        }
-        if (obj == null || getClass() != obj.getClass()) {
-            return false;
-        }
-        Cells other = (Cells) obj;
-        return cells.equals(other.cells);
-    }
-
-    @Override
-    public int hashCode() {
-        return cells.hashCode();
-    }
-
-    @Override
-    public String toString() {
-        return cells.toString();
-    }
 }
@@ -0,0 +1,121 @@
+package diergo.csv;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A column of data resolved from its name to its index once, so getting its value per row is an index access
+ * instead of a lookup by name. The index is resolved from a header row or list, the first resolution wins and
+ * is shared by all users of the column. For duplicate names the last column is used, as by maps. Values of {@linkplain Maps#toIndexedMaps(List) indexed maps} are accessed
+ * by the index within their header, other maps are accessed by name.
+ *
+ * @see Maps#column(String)
+ * @see Maps#column(String, List)
+ * @since 3.3.0
+ */
+public final class Column {
+
+    private static final int UNRESOLVED = -1;
+
+    private final String name;
+    private final AtomicInteger index;
+    private volatile HeaderIndex mapIndex;
+
+    Column(String name, int index) {
+        this.name = name;
+        this.index = new AtomicInteger(index);
+    }
+
+    /**
+     * The name of the column.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * The index of the column within the rows.
+     *
+     * @throws IllegalStateException if the column has not been resolved
+     */
+    public int getIndex() {
+        int resolved = index.get();
+        if (resolved == UNRESOLVED) {
+            throw new IllegalStateException("column " + name + " not resolved");
+        }
+        return resolved;
+    }
+
+    /**
+     * Resolves the index of the column using the header row, the first resolution wins.
+     *
+     * @return the index of the column
+     * @throws IllegalArgumentException if the name is not part of the header
+     */
+    public int resolve(Row header) {
+        int resolved = index.get();
+        if (resolved != UNRESOLVED) {
+            return resolved;
+        }
+        for (int i = header.getLength() - 1; i >= 0; i--) {
+            if (header.contentEquals(i, name)) {
+                index.compareAndSet(UNRESOLVED, i);
+                return index.get();
+            }
+        }
+        throw new IllegalArgumentException("column " + name + " not found in header " + header);
+    }
+
+    /**
+     * The value of the column in the row or {@code null} if the row is shorter.
+     *
+     * @throws IllegalStateException if the column has not been resolved
+     */
+    public String getFrom(Row row) {
+        int resolved = getIndex();
+        return resolved < row.getLength() ? row.get(resolved) : null;
+    }
+
+    /**
+     * The value of the column in the data map. The index of an indexed map is cached for its header.
+     */
+    public <V> V getFrom(Map<String, V> values) {
+        if (values instanceof IndexedMap) {
+            IndexedMap indexed = (IndexedMap) values;
+            HeaderIndex cached = mapIndex;
+            if (cached == null || cached.header != indexed.header()) {
+                cached = new HeaderIndex(indexed.header(), name);
+                mapIndex = cached;
+            }
+            @SuppressWarnings("unchecked")
+            V value = (V) (cached.index == null ? indexed.get(name) : indexed.valueAt(cached.index));
+            return value;
+        }
+        return values.get(name);
+    }
+
+    @Override
+    public String toString() {
+        int resolved = index.get();
+        return resolved == UNRESOLVED ? name : name + '@' + resolved;
+    }
+
+    static int indexOf(List<String> header, String name) {
+        int resolved = header.lastIndexOf(name);
+        if (resolved < 0) {
+            throw new IllegalArgumentException("column " + name + " not found in header " + header);
+        }
+        return resolved;
+    }
+
+    private static final class HeaderIndex {
+        final IndexedMap.Header header;
+        final Integer index;
+
+        HeaderIndex(IndexedMap.Header header, String name) {
+            this.header = header;
+            this.index = header.indexes.get(name);
+        }
+    }
+}
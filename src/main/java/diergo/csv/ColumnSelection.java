@@ -0,0 +1,80 @@
+package diergo.csv;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The columns selected by index or by name. Names are resolved to indices using the first data row as header,
+ * the header row is selected as any other row. The resolution is shared by all users of the parser.
+ *
+ * @see CsvParserBuilder#selectingColumns(int...)
+ * @see CsvParserBuilder#selectingColumns(String...)
+ */
+class ColumnSelection {
+
+    private final String[] names;
+    private final AtomicReference<int[]> columns;
+
+    private ColumnSelection(String[] names, int[] columns) {
+        this.names = names;
+        this.columns = new AtomicReference<>(columns);
+    }
+
+    static ColumnSelection byIndex(int... columns) {
+        for (int column : columns) {
+            if (column < 0) {
+                throw new IllegalArgumentException("column index must not be negative: " + column);
+            }
+        }
+        return new ColumnSelection(null, columns.clone());
+    }
+
+    static ColumnSelection byName(String... names) {
+        return new ColumnSelection(names.clone(), null);
+    }
+
+    /**
+     * Creates an unresolved selection of the same columns, so parsers do not share the header.
+     */
+    ColumnSelection copy() {
+        return names == null ? this : new ColumnSelection(names, null);
+    }
+
+    boolean isByName() {
+        return names != null;
+    }
+
+    /**
+     * The indices of the selected columns or {@code null} if the header has not been seen yet.
+     */
+    int[] columns() {
+        return columns.get();
+    }
+
+    /**
+     * Resolves the names using the header row, the first resolution wins.
+     *
+     * @throws IllegalArgumentException if a name is not part of the header
+     */
+    int[] resolve(Row header) {
+        int[] resolved = new int[names.length];
+        for (int i = 0; i < names.length; i++) {
+            resolved[i] = indexOf(header, names[i]);
+        }
+        return columns.updateAndGet(former -> former == null ? resolved : former);
+    }
+
+    private static int indexOf(Row header, String name) {
+        for (int i = 0; i < header.getLength(); i++) {
+            if (header.contentEquals(i, name)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("column " + name + " not found in header " + header);
+    }
+
+    @Override
+    public String toString() {
+        return names == null ? Arrays.toString(columns.get()) : Arrays.toString(names);
+    }
+}
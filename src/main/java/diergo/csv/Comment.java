@@ -21,6 +21,14 @@ class Comment implements Row {
         return 1;
     }
 
+    @Override
+    public String get(int index) {
+        if (index != 0) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: 1");
+        }
+        return comment;
+    }
+
     @Override
     public Iterator<String> iterator() {
         return Collections.singleton(comment).iterator();
@@ -0,0 +1,117 @@
+package diergo.csv;
+
+/**
+ * Emits events of parsers and printers to the JDK Flight Recorder. Since Java 11 the events are created by a
+ * subclass of the multi-release layer, on Java 8 and if the module {@code jdk.jfr} is missing nothing is emitted.
+ * The handles returned for an event do nothing if it is not enabled in a recording, so callers need not check.
+ * <p>
+ * Parsers emit an event per chunk of records, an event for the separator detected and an event for each invocation
+ * of the error handler. Buffered sinks emit an event for each block written to the target.
+ */
+class CsvEvents {
+
+    private static final CsvEvents NONE = new CsvEvents();
+    private static final CsvEvents CURRENT = load("diergo.csv.FlightRecorderEvents");
+
+    /**
+     * The events available on the running Java version.
+     */
+    static CsvEvents current() {
+        return CURRENT;
+    }
+
+    /**
+     * The events emitting nothing.
+     */
+    static CsvEvents none() {
+        return NONE;
+    }
+
+    static CsvEvents load(String className) {
+        try {
+            return (CsvEvents) Class.forName(className).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError | ClassCastException e) {
+            return NONE;
+        }
+    }
+
+    /**
+     * Starts a chunk of records parsed by one spliterator.
+     */
+    Chunk parseChunk() {
+        return Chunk.NONE;
+    }
+
+    /**
+     * Starts the detection of the separator out of the candidates.
+     */
+    Detection detection(CharSequence candidates) {
+        return Detection.NONE;
+    }
+
+    /**
+     * Starts the invocation of the error handler for an erroneous record.
+     */
+    ErrorHandling errorHandling(int length, RuntimeException error) {
+        return ErrorHandling.NONE;
+    }
+
+    /**
+     * Starts writing a block of bytes to the target of a buffered sink.
+     */
+    Write write(int length) {
+        return Write.NONE;
+    }
+
+    /**
+     * Records parsed, the chunk is committed after a number of records and at the end of input.
+     */
+    static class Chunk {
+        static final Chunk NONE = new Chunk();
+
+        /**
+         * Records a record parsed.
+         *
+         * @param length the length of the record including the line break
+         * @param row    whether a row was created, {@code false} for filtered records
+         */
+        void record(int length, boolean row) {
+        }
+
+        /**
+         * Records an erroneous record passed to the error handler.
+         */
+        void error(int length) {
+        }
+
+        /**
+         * Commits the records parsed since the last commit.
+         */
+        void end() {
+        }
+    }
+
+    static class Detection {
+        static final Detection NONE = new Detection();
+
+        void end(char separator) {
+        }
+    }
+
+    static class ErrorHandling {
+        static final ErrorHandling NONE = new ErrorHandling();
+
+        /**
+         * Ends the invocation returning a number of rows, failed invocations return no rows.
+         */
+        void end(int rows, boolean failed) {
+        }
+    }
+
+    static class Write {
+        static final Write NONE = new Write();
+
+        void end() {
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package diergo.csv;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of the records parsed or printed. The counters are striped, so parsers and printers of parallel
+ * streams do not contend when recording. Reading the counters creates a {@linkplain Snapshot snapshot}, changes
+ * can be read as a delta between snapshots to be pushed to a monitoring system.
+ * Without metrics configured, parsers and printers do not record anything.
+ * <p>
+ * Lengths are counted in the units of the input: bytes for data parsed on the byte level, characters otherwise.
+ * The time of parsers is split into the time reading input and the time processing records, the time of printers
+ * into the time writing to the target and the time printing rows. Use separate metrics for parsers and printers.
+ *
+ * @see CsvParserBuilder#recordingMetrics(CsvMetrics)
+ * @see CsvPrinterBuilder#recordingMetrics(CsvMetrics)
+ * @since 3.3.0
+ */
+public final class CsvMetrics {
+
+    /**
+     * Creates new metrics with all counters zero.
+     */
+    public static CsvMetrics csvMetrics() {
+        return new CsvMetrics();
+    }
+
+    private final LongAdder records = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder length = new LongAdder();
+    private final LongAdder comments = new LongAdder();
+    private final LongAdder multiLineRecords = new LongAdder();
+    private final LongAdder errorsSkipped = new LongAdder();
+    private final LongAdder errorsReplaced = new LongAdder();
+    private final LongAdder errorsFailed = new LongAdder();
+    private final LongAdder ioNanos = new LongAdder();
+    private final LongAdder processingNanos = new LongAdder();
+    private final LongAccumulator longestRecord = new LongAccumulator(Math::max, 0);
+    private final LongAccumulator longestCell = new LongAccumulator(Math::max, 0);
+    private final AtomicReference<Snapshot> lastDelta = new AtomicReference<>(Snapshot.ZERO);
+
+    private CsvMetrics() {
+    }
+
+    /**
+     * The current values of all counters. Counters are read one after the other, so a snapshot taken while
+     * recording need not be consistent.
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(records.sum(), rows.sum(), length.sum(), comments.sum(), multiLineRecords.sum(),
+                errorsSkipped.sum(), errorsReplaced.sum(), errorsFailed.sum(), longestRecord.get(), longestCell.get(),
+                ioNanos.sum(), processingNanos.sum());
+    }
+
+    /**
+     * The changes of the counters since the last call of this method or since the creation of the metrics.
+     *
+     * @see Snapshot#minus(Snapshot)
+     */
+    public Snapshot delta() {
+        Snapshot current = snapshot();
+        return current.minus(lastDelta.getAndSet(current));
+    }
+
+    /**
+     * Records a record read or written.
+     *
+     * @param length     the length of the record including the line break
+     * @param lineBreaks the number of line breaks within the cells
+     * @param cell       the length of the longest cell
+     * @param row        whether a row was created or printed, {@code false} for filtered records
+     * @param comment    whether the record is a comment
+     */
+    void record(int length, int lineBreaks, int cell, boolean row, boolean comment) {
+        records.increment();
+        this.length.add(length);
+        longestRecord.accumulate(length);
+        longestCell.accumulate(cell);
+        if (lineBreaks > 0) {
+            multiLineRecords.increment();
+        }
+        if (row) {
+            rows.increment();
+        }
+        if (comment) {
+            comments.increment();
+        }
+    }
+
+    /**
+     * Records an erroneous record of the length passed to the error handler.
+     *
+     * @param replaced whether the error handler replaced the record by rows
+     */
+    void error(int length, boolean replaced) {
+        this.length.add(length);
+        (replaced ? errorsReplaced : errorsSkipped).increment();
+    }
+
+    /**
+     * Records an erroneous record of the length failing the error handler.
+     */
+    void failed(int length) {
+        this.length.add(length);
+        errorsFailed.increment();
+    }
+
+    void io(long nanos) {
+        ioNanos.add(nanos);
+    }
+
+    void processing(long nanos) {
+        processingNanos.add(nanos);
+    }
+
+    @Override
+    public String toString() {
+        return snapshot().toString();
+    }
+
+    /**
+     * The values of the counters at one point in time or the difference between two points in time.
+     */
+    public static final class Snapshot {
+
+        static final Snapshot ZERO = new Snapshot(0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0);
+
+        private final long records;
+        private final long rows;
+        private final long length;
+        private final long comments;
+        private final long multiLineRecords;
+        private final long errorsSkipped;
+        private final long errorsReplaced;
+        private final long errorsFailed;
+        private final long longestRecord;
+        private final long longestCell;
+        private final long ioNanos;
+        private final long processingNanos;
+
+        Snapshot(long records, long rows, long length, long comments, long multiLineRecords,
+                 long errorsSkipped, long errorsReplaced, long errorsFailed, long longestRecord, long longestCell,
+                 long ioNanos, long processingNanos) {
+            this.records = records;
+            this.rows = rows;
+            this.length = length;
+            this.comments = comments;
+            this.multiLineRecords = multiLineRecords;
+            this.errorsSkipped = errorsSkipped;
+            this.errorsReplaced = errorsReplaced;
+            this.errorsFailed = errorsFailed;
+            this.longestRecord = longestRecord;
+            this.longestCell = longestCell;
+            this.ioNanos = ioNanos;
+            this.processingNanos = processingNanos;
+        }
+
+        /**
+         * The differences to the earlier snapshot. The longest record and cell are kept as they are maxima.
+         */
+        public Snapshot minus(Snapshot earlier) {
+            return new Snapshot(records - earlier.records, rows - earlier.rows, length - earlier.length,
+                    comments - earlier.comments, multiLineRecords - earlier.multiLineRecords,
+                    errorsSkipped - earlier.errorsSkipped, errorsReplaced - earlier.errorsReplaced,
+                    errorsFailed - earlier.errorsFailed, longestRecord, longestCell,
+                    ioNanos - earlier.ioNanos, processingNanos - earlier.processingNanos);
+        }
+
+        /**
+         * The number of records read or written including comments, empty lines and filtered records but
+         * not erroneous records.
+         */
+        public long getRecords() {
+            return records;
+        }
+
+        /**
+         * The number of rows created or printed, including comments and empty rows.
+         */
+        public long getRows() {
+            return rows;
+        }
+
+        /**
+         * The length of all records including erroneous ones, bytes or characters.
+         */
+        public long getLength() {
+            return length;
+        }
+
+        public long getComments() {
+            return comments;
+        }
+
+        /**
+         * The number of records with line breaks in cells.
+         */
+        public long getMultiLineRecords() {
+            return multiLineRecords;
+        }
+
+        /**
+         * The number of erroneous records passed to the error handler.
+         */
+        public long getErrors() {
+            return errorsSkipped + errorsReplaced + errorsFailed;
+        }
+
+        /**
+         * The number of erroneous records the error handler returned no rows for.
+         */
+        public long getErrorsSkipped() {
+            return errorsSkipped;
+        }
+
+        /**
+         * The number of erroneous records the error handler returned rows for.
+         */
+        public long getErrorsReplaced() {
+            return errorsReplaced;
+        }
+
+        /**
+         * The number of erroneous records the error handler threw an exception for.
+         */
+        public long getErrorsFailed() {
+            return errorsFailed;
+        }
+
+        public long getLongestRecord() {
+            return longestRecord;
+        }
+
+        public long getLongestCell() {
+            return longestCell;
+        }
+
+        /**
+         * The time spent reading the input or writing to the target.
+         */
+        public Duration getIoTime() {
+            return Duration.ofNanos(ioNanos);
+        }
+
+        /**
+         * The time spent parsing or printing excluding I/O.
+         */
+        public Duration getProcessingTime() {
+            return Duration.ofNanos(processingNanos);
+        }
+
+        @Override
+        public String toString() {
+            return "records=" + records + ", rows=" + rows + ", length=" + length + ", comments=" + comments
+                    + ", multiLineRecords=" + multiLineRecords + ", errorsSkipped=" + errorsSkipped
+                    + ", errorsReplaced=" + errorsReplaced + ", errorsFailed=" + errorsFailed
+                    + ", longestRecord=" + longestRecord + ", longestCell=" + longestCell
+                    + ", ioTime=" + getIoTime() + ", processingTime=" + getProcessingTime();
+        }
+    }
+}
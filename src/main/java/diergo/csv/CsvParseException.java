@@ -0,0 +1,124 @@
+package diergo.csv;
+
+/**
+ * The error passed to the error handler for an erroneous record. The parser creates it for each erroneous record,
+ * so it is cheap: it has no stack trace and the message is formatted only when it is read. Error handlers can use
+ * the kind and the position without any message. Handlers rethrowing the error should {@linkplain #fillInStackTrace()
+ * fill in the stack trace} before, as {@link ErrorHandlers#throwingError()} does.
+ *
+ * @see CsvParserBuilder#handlingErrors(java.util.function.BiFunction)
+ * @since 3.3.0
+ */
+public final class CsvParseException extends IllegalArgumentException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The kinds of errors in records.
+     */
+    public enum Kind {
+        /**
+         * A cell contains a quote but does not start with one.
+         */
+        UNQUOTED_QUOTE,
+        /**
+         * A quoted cell is not closed at the end of input.
+         */
+        UNCLOSED_QUOTE,
+        /**
+         * The record contains bytes not valid in the charset.
+         */
+        MALFORMED_INPUT,
+        /**
+         * The record is longer than the limit.
+         *
+         * @see CsvParserBuilder#limitingRecordLength(int)
+         */
+        RECORD_TOO_LONG,
+        /**
+         * The record has more cells than the limit.
+         *
+         * @see CsvParserBuilder#limitingCells(int)
+         */
+        TOO_MANY_CELLS,
+        /**
+         * The record spans more lines than the limit.
+         *
+         * @see CsvParserBuilder#limitingLines(int)
+         */
+        TOO_MANY_LINES
+    }
+
+    private final Kind kind;
+    private final char quote;
+    private final String charset;
+    private final int limit;
+    private final int line;
+    private final int column;
+    private final long offset;
+    private boolean created;
+
+    CsvParseException(Kind kind, char quote, String charset, int limit, int line, int column, long offset) {
+        this.kind = kind;
+        this.quote = quote;
+        this.charset = charset;
+        this.limit = limit;
+        this.line = line;
+        this.column = column;
+        this.offset = offset;
+        this.created = true;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * The line number the record starts at, starting with 0.
+     */
+    public int getLine() {
+        return line;
+    }
+
+    /**
+     * The position of the error relative to the start of the record.
+     */
+    public int getColumn() {
+        return column;
+    }
+
+    /**
+     * The position of the error in the input in bytes or characters, the units of the input. For lines parsed
+     * one by one this is relative to the line.
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    @Override
+    public String getMessage() {
+        switch (kind) {
+            case UNQUOTED_QUOTE:
+                return String.format("columns with quote (%c) need to be quoted: error at position %d:%d", quote, line, column);
+            case UNCLOSED_QUOTE:
+                return String.format("quoted column (%c) not closed at end of input: error at position %d:%d", quote, line, column);
+            case MALFORMED_INPUT:
+                return String.format("malformed input for %s: error at position %d:%d", charset, line, column);
+            case RECORD_TOO_LONG:
+                return String.format("record longer than %d: error at position %d:%d", limit, line, column);
+            case TOO_MANY_CELLS:
+                return String.format("record with more than %d cells: error at position %d:%d", limit, line, column);
+            default:
+                return String.format("record spanning more than %d lines: error at position %d:%d", limit, line, column);
+        }
+    }
+
+    /**
+     * Does not fill in the stack trace when the error is created, the error is located by its position. Later calls
+     * fill in the stack trace of the current thread.
+     */
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return created ? super.fillInStackTrace() : this;
+    }
+}
@@ -1,10 +1,20 @@
 package diergo.csv;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.Reader;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.Collection;
 import java.util.List;
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static diergo.csv.ErrorHandlers.throwingError;
 import static diergo.csv.Row.DEFAULT_QUOTE;
@@ -20,6 +30,10 @@ import static diergo.csv.Row.DEFAULT_QUOTE;
  * and any number of rows created by an {@link #handlingErrors(BiFunction) error handler} on invalid data.
  * <p>
  * Don't forget the {@code flatMap(Collection::stream)} call as the parser may return zero to multiple rows per line!
+ * <p>
+ * Alternatively the parser can read the rows directly from a reader without creating a string per line:
+ * <p>
+ * {@link #csvParser()}.{@link #parse(Reader) parse}(in)
  *
  * @see Readers#asLines(Reader)
  * @see java.util.stream.Stream#map(Function)
@@ -42,7 +56,13 @@ public class CsvParserBuilder {
     private char quote = DEFAULT_QUOTE;
     private String commentStart = null;
     private boolean laxMode = false;
+    private boolean validatingEncoding = false;
+    private boolean reusingRows = false;
+    private ColumnSelection selection = null;
+    private CellFilter filter = null;
     private BiFunction<String, RuntimeException, List<Row>> errorHandler = throwingError();
+    private CsvMetrics metrics = null;
+    private RecordLimits limits = RecordLimits.NONE;
 
     private CsvParserBuilder() {
     }
@@ -69,6 +89,86 @@ public class CsvParserBuilder {
         return this;
     }
 
+    /**
+     * Enables strict validation of the encoding for rows parsed from bytes.
+     * By default malformed input is replaced when decoding.
+     * Records parsed on the byte level are validated before the row is created, malformed records are passed to
+     * the {@linkplain #handlingErrors(BiFunction) error handler}. Otherwise malformed input fails the stream with an
+     * {@link java.io.UncheckedIOException}.
+     *
+     * @see #parse(InputStream, Charset)
+     * @see #parse(Path, Charset)
+     * @since 3.3.0
+     */
+    public CsvParserBuilder validatingEncoding() {
+        this.validatingEncoding = true;
+        return this;
+    }
+
+    /**
+     * Enables reusing a single row instance for all records read by {@link #parse(Reader)},
+     * {@link #parse(InputStream, Charset)} or {@link #parse(Path, Charset)}. The row references the read buffer
+     * and materialises cells on access only, so it is valid until the next row is read only. Use this for
+     * consumers looking at a row immediately like filters or aggregations, never collect the rows.
+     * Comments and empty rows are not reused.
+     *
+     * @since 3.3.0
+     */
+    public CsvParserBuilder reusingRows() {
+        this.reusingRows = true;
+        return this;
+    }
+
+    /**
+     * Selects the columns to be contained in the rows by index, starting with {@code 0}. The cells of other columns
+     * are skipped without being materialised, cells missing in a row are empty. Comments and empty lines are not
+     * changed.
+     *
+     * @since 3.3.0
+     */
+    public CsvParserBuilder selectingColumns(int... columns) {
+        this.selection = ColumnSelection.byIndex(columns);
+        return this;
+    }
+
+    /**
+     * Selects the columns to be contained in the rows by name. The names are looked up in the first row which is
+     * the header, so it will contain the names selected only.
+     *
+     * @throws IllegalArgumentException while parsing if a name is not part of the header
+     * @see #selectingColumns(int...)
+     * @since 3.3.0
+     */
+    public CsvParserBuilder selectingColumns(String... names) {
+        this.selection = ColumnSelection.byName(names);
+        return this;
+    }
+
+    /**
+     * Keeps only rows whose cell in the column (starting with {@code 0}) fulfils the predicate. The record is
+     * tested before the row is created, so rejected records create no rows or cell strings. The cell is passed
+     * as a character sequence valid during the test only, cells missing in a record are empty.
+     * Multiple filters must all be fulfilled. Comments and empty lines are kept. The filter is applied
+     * before {@linkplain #selectingColumns(int...) selecting columns}, so the column need not be selected.
+     *
+     * @since 3.3.0
+     */
+    public CsvParserBuilder filteringOn(int column, Predicate<? super CharSequence> predicate) {
+        return filteringOn(ColumnSelection.byIndex(column), predicate);
+    }
+
+    /**
+     * Keeps only rows whose cell in the named column fulfils the predicate. The name is looked up in the first
+     * row which is the header, it is always kept.
+     *
+     * @throws IllegalArgumentException while parsing if the name is not part of the header
+     * @see #filteringOn(int, Predicate)
+     * @since 3.3.0
+     */
+    public CsvParserBuilder filteringOn(String column, Predicate<? super CharSequence> predicate) {
+        return filteringOn(ColumnSelection.byName(column), predicate);
+    }
+
     /**
      * Configures the fixed separator between data columns in the line.
      * By default a couple of separators are possible.
@@ -89,9 +189,24 @@ public class CsvParserBuilder {
         return this;
     }
 
+    /**
+     * Configures the separator, the quote and the comment start of the dialect. The parser uses the fixed separator,
+     * so it is not determined while parsing.
+     *
+     * @see Dialect#sniff(Reader)
+     * @see Dialect#sniff(Path, Charset)
+     * @since 3.3.0
+     */
+    public CsvParserBuilder withDialect(Dialect dialect) {
+        separatedBy(dialect.getSeparator());
+        quotedWith(dialect.getQuote());
+        return commentsStartWith(dialect.getCommentStart());
+    }
+
     /**
      * Configures the error handler for input format problems.
      * By default illegal lines create an error.
+     * Invalid quoting and malformed input are passed as a {@link CsvParseException} with the position of the error.
      *
      * @see ErrorHandlers#throwingError()
      */
@@ -100,12 +215,130 @@ public class CsvParserBuilder {
         return this;
     }
 
+    /**
+     * Limits the length of a record in characters, or in bytes for data parsed on the byte level. The length
+     * includes line breaks within quoted cells but not the line break ending the record. A longer record is passed
+     * to the {@linkplain #handlingErrors(BiFunction) error handler} cut at the limit and parsing continues at the
+     * next line, so an unclosed quote does not make the parser keep the rest of the input in memory.
+     * By default the length is not limited.
+     *
+     * @throws IllegalArgumentException if the limit is not positive
+     * @since 3.3.0
+     */
+    public CsvParserBuilder limitingRecordLength(int maxLength) {
+        this.limits = limits.withLength(maxLength);
+        return this;
+    }
+
+    /**
+     * Limits the number of cells of a record. A record with more cells is passed to the
+     * {@linkplain #handlingErrors(BiFunction) error handler} and parsing continues at the next line.
+     * By default the cells are not limited.
+     *
+     * @throws IllegalArgumentException if the limit is not positive
+     * @since 3.3.0
+     */
+    public CsvParserBuilder limitingCells(int maxCells) {
+        this.limits = limits.withCells(maxCells);
+        return this;
+    }
+
+    /**
+     * Limits the number of lines a record with line breaks in quoted cells spans. A record spanning more lines is
+     * passed to the {@linkplain #handlingErrors(BiFunction) error handler} up to the line exceeding the limit and
+     * parsing continues at this line. By default the lines are not limited.
+     *
+     * @throws IllegalArgumentException if the limit is not positive
+     * @since 3.3.0
+     */
+    public CsvParserBuilder limitingLines(int maxLines) {
+        this.limits = limits.withLines(maxLines);
+        return this;
+    }
+
+    /**
+     * Enables recording the records parsed, their length, the outcome of errors and the time reading and parsing.
+     * By default nothing is recorded.
+     *
+     * @see CsvMetrics#csvMetrics()
+     * @since 3.3.0
+     */
+    public CsvParserBuilder recordingMetrics(CsvMetrics metrics) {
+        this.metrics = metrics;
+        return this;
+    }
+
     /**
      * Created a new configured parser.
      *
      * @see java.util.stream.Stream#map(Function)
      */
     public Function<String, List<Row>> build() {
-        return new RowParser(separators, quote, commentStart, laxMode, errorHandler);
+        return createParser();
+    }
+
+    /**
+     * Creates a stream of the rows read from the reader with the configured parser. The characters are read into
+     * a reusable buffer, cells spanning multiple lines are handled without joining lines. Closing the stream
+     * closes the reader.
+     *
+     * @see Readers#closeHandler(Reader)
+     * @since 3.3.0
+     */
+    public Stream<Row> parse(Reader in) {
+        return StreamSupport.stream(new RowSpliterator(in, createParser()), false)
+                .onClose(Readers.closeHandler(in));
+    }
+
+    /**
+     * Creates a stream of the rows read from the bytes of the input stream with the configured parser.
+     * For charsets encoding the separators, quote and line breaks as single bytes like UTF-8 or ISO-8859-1 the bytes
+     * are scanned directly and only the cells accessed are decoded. Other charsets or non ASCII separators or quote
+     * are decoded by an {@link InputStreamReader}. Closing the stream closes the input stream.
+     * To overlap reading with parsing, pass a stream {@linkplain Readers#readingAhead(InputStream) reading ahead}.
+     *
+     * @see #validatingEncoding()
+     * @see #parse(Reader)
+     * @since 3.3.0
+     */
+    public Stream<Row> parse(InputStream in, Charset charset) {
+        RowParser parser = createParser();
+        if (!ByteRowSpliterator.isApplicable(parser, charset)) {
+            return parse(validatingEncoding ? new InputStreamReader(in, charset.newDecoder()) : new InputStreamReader(in, charset));
+        }
+        return StreamSupport.stream(new ByteRowSpliterator(in, charset, parser), false)
+                .onClose(Readers.closeHandler(in));
+    }
+
+    /**
+     * Creates a stream of the rows read from the memory mapped file with the configured parser. The stream can be
+     * {@linkplain Stream#parallel() parallel}: the file is split into parts at record boundaries, each part is parsed
+     * on its own. Splitting needs data quoted as defined in RFC 4180 and a charset encoding the separator, quote and
+     * line breaks as single bytes like UTF-8 or ISO-8859-1, otherwise the file is parsed sequentially.
+     * In lax mode the file is parsed sequentially too. For such charsets the bytes are scanned directly as for
+     * {@link #parse(InputStream, Charset)}. Closing the stream closes the file.
+     *
+     * @see java.nio.file.Files#lines(Path, Charset)
+     * @since 3.3.0
+     */
+    public Stream<Row> parse(Path file, Charset charset) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            FileRowSpliterator rows = new FileRowSpliterator(channel, charset, createParser());
+            return StreamSupport.stream(rows, false).onClose(rows::close);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private CsvParserBuilder filteringOn(ColumnSelection column, Predicate<? super CharSequence> predicate) {
+        this.filter = (filter == null ? new CellFilter() : filter).and(column, predicate);
+        return this;
+    }
+
+    private RowParser createParser() {
+        return new RowParser(separators, quote, commentStart, laxMode, validatingEncoding, reusingRows,
+                selection == null ? null : selection.copy(), filter == null ? null : filter.copy(), errorHandler, metrics, limits);
     }
 }
@@ -1,8 +1,10 @@
 package diergo.csv;
 
 import java.text.DecimalFormatSymbols;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collector;
+import java.util.stream.Stream;
 
 import static diergo.csv.Row.DEFAULT_QUOTE;
 
@@ -22,6 +24,7 @@ public class CsvPrinterBuilder {
     private char separator = DecimalFormatSymbols.getInstance().getPatternSeparator();
     private char quote = DEFAULT_QUOTE;
     private String commentStart = null;
+    private CsvMetrics metrics = null;
 
     private CsvPrinterBuilder() {
     }
@@ -54,12 +57,90 @@ public class CsvPrinterBuilder {
         return this;
     }
 
+    /**
+     * Enables recording the rows printed, their length and the time printing them and writing to the target.
+     * By default nothing is recorded.
+     *
+     * @see CsvMetrics#csvMetrics()
+     * @since 3.3.0
+     */
+    public CsvPrinterBuilder recordingMetrics(CsvMetrics metrics) {
+        this.metrics = metrics;
+        return this;
+    }
+
     /**
      * Created a new configured printer.
      *
      * @see java.util.stream.Stream#map(Function)
      */
     public Function<Row, String> build() {
-        return new RowPrinter(separator, quote, commentStart);
+        return createPrinter();
+    }
+
+    /**
+     * Creates a new configured printer writing rows to a specific appendable using {@link Appendables#CRLF}
+     * as line separator.
+     *
+     * @see #printingTo(Appendable, char)
+     * @since 3.3.0
+     */
+    public Consumer<Row> printingTo(Appendable out) {
+        return new RowAppender(createPrinter(), out, Appendables.CRLF);
+    }
+
+    /**
+     * Creates a new configured printer writing rows to a specific appendable. Other than mapping rows to lines by
+     * the {@link #build() printer} and collecting them {@link Appendables#toAppendable(Appendable, char) to the
+     * appendable}, no string is created per row: the cells are streamed to a reusable buffer with quotes doubled
+     * inline. Each row is passed to the appendable by one call, so it can be used for parallel streams as long
+     * as the appendable is thread safe.
+     * <p>
+     * To write bytes in a fixed charset, use a {@linkplain Appendables#buffered(java.io.OutputStream, java.nio.charset.Charset)
+     * buffered writer}: the rows are printed into its buffer directly, for charsets like UTF-8 ASCII characters
+     * are stored as bytes without an encoder.
+     * Typical usage for a stream of rows:
+     * <p>
+     * <br/>{@link Stream Stream}{@code <Row>} rows = ...;
+     * <br/>{@code rows.}{@link Stream#forEachOrdered(Consumer) forEachOrdered}({@code csvPrinter().printingTo(out, '\n')})
+     *
+     * @since 3.3.0
+     */
+    public Consumer<Row> printingTo(Appendable out, char lineSep) {
+        return new RowAppender(createPrinter(), out, String.valueOf(lineSep));
+    }
+
+    /**
+     * Prints rows to a specific appendable in encounter order using {@link Appendables#CRLF} as line separator.
+     *
+     * @see #print(Stream, Appendable, char)
+     * @since 3.3.0
+     */
+    public <R extends Appendable> R print(Stream<? extends Row> rows, R out) {
+        return new OrderedRowWriter(createPrinter(), Appendables.CRLF).write(rows, out);
+    }
+
+    /**
+     * Prints rows to a specific appendable in encounter order.
+     * For a parallel stream parts of the rows are printed in parallel to buffers, which are written to the appendable
+     * as soon as all rows before are written. So the output is the same as for a sequential stream, while only the
+     * parts in progress are held in memory. A sequential stream is printed to the appendable in large blocks.
+     * The appendable is accessed by the calling thread only, so it need not be thread safe.
+     * Typical usage for a stream of rows:
+     * <p>
+     * <br/>{@link Stream Stream}{@code <Row>} rows = ...;
+     * <br/>{@code csvPrinter().print(rows.parallel(), out, '\n')}
+     *
+     * @param <R> the type of the appendable
+     * @return the appendable
+     * @throws java.io.UncheckedIOException if the appendable fails
+     * @since 3.3.0
+     */
+    public <R extends Appendable> R print(Stream<? extends Row> rows, R out, char lineSep) {
+        return new OrderedRowWriter(createPrinter(), String.valueOf(lineSep)).write(rows, out);
+    }
+
+    private RowPrinter createPrinter() {
+        return new RowPrinter(separator, quote, commentStart, metrics);
     }
 }
@@ -0,0 +1,156 @@
+package diergo.csv;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * The format of CSV data: separator, quote, comment start, line separator and whether the first row is a header.
+ * A dialect is determined once from a sample of the data by a sniffer, a parser configured
+ * {@linkplain CsvParserBuilder#withDialect(Dialect) with the dialect} uses a fixed separator.
+ * <p>
+ * The separator is the candidate creating the most records with the same number of cells, at least two.
+ * The quote is the candidate found most often at the start of a cell. Lines starting with {@code #} are comments
+ * if there are lines not starting with it. The first row is a header if its cells differ from the cells in the same
+ * column of the following rows, like text above numbers or cells of other length.
+ *
+ * @see CsvParserBuilder#withDialect(Dialect)
+ * @since 3.3.0
+ */
+public final class Dialect {
+
+    /**
+     * The number of characters sampled from readers or files by default.
+     */
+    public static final int DEFAULT_SAMPLE_SIZE = DialectSniffer.SAMPLE_SIZE;
+
+    /**
+     * The number of records sampled by default.
+     */
+    public static final int DEFAULT_SAMPLE_RECORDS = DialectSniffer.SAMPLE_RECORDS;
+
+    /**
+     * Determines the dialect from the sample using the {@linkplain CsvParserBuilder#DEFAULT_SEPARATORS default
+     * separators} as candidates.
+     */
+    public static Dialect sniff(CharSequence sample) {
+        return sniff(sample, CsvParserBuilder.DEFAULT_SEPARATORS, DEFAULT_SAMPLE_RECORDS);
+    }
+
+    /**
+     * Determines the dialect from the first records of the sample using any of the possible separators.
+     */
+    public static Dialect sniff(CharSequence sample, CharSequence possibleSeparators, int maxRecords) {
+        return new DialectSniffer(possibleSeparators, maxRecords).sniff(sample, false);
+    }
+
+    /**
+     * Determines the dialect from the beginning of the reader, which is reset afterwards, using the
+     * {@linkplain CsvParserBuilder#DEFAULT_SEPARATORS default separators} as candidates.
+     *
+     * @throws IllegalArgumentException if the reader does not support {@linkplain Reader#markSupported() marks}
+     * @see #sniff(Reader, CharSequence, int, int)
+     */
+    public static Dialect sniff(Reader in) throws IOException {
+        return sniff(in, CsvParserBuilder.DEFAULT_SEPARATORS, DEFAULT_SAMPLE_SIZE, DEFAULT_SAMPLE_RECORDS);
+    }
+
+    /**
+     * Determines the dialect from the first records within the first characters of the reader using any of the
+     * possible separators. The reader is reset afterwards, wrap it in a {@link java.io.BufferedReader} to support
+     * marks.
+     *
+     * @throws IllegalArgumentException if the reader does not support {@linkplain Reader#markSupported() marks}
+     */
+    public static Dialect sniff(Reader in, CharSequence possibleSeparators, int sampleSize, int maxRecords) throws IOException {
+        return new DialectSniffer(possibleSeparators, maxRecords).sniff(in, sampleSize);
+    }
+
+    /**
+     * Determines the dialect from the beginning of the file using the
+     * {@linkplain CsvParserBuilder#DEFAULT_SEPARATORS default separators} as candidates.
+     *
+     * @see #sniff(Path, Charset, CharSequence, int, int)
+     */
+    public static Dialect sniff(Path file, Charset charset) throws IOException {
+        return sniff(file, charset, CsvParserBuilder.DEFAULT_SEPARATORS, DEFAULT_SAMPLE_SIZE, DEFAULT_SAMPLE_RECORDS);
+    }
+
+    /**
+     * Determines the dialect from the first records within the first characters of the file using any of the possible
+     * separators.
+     */
+    public static Dialect sniff(Path file, Charset charset, CharSequence possibleSeparators, int sampleSize, int maxRecords) throws IOException {
+        return new DialectSniffer(possibleSeparators, maxRecords).sniff(file, charset, sampleSize);
+    }
+
+    private final char separator;
+    private final char quote;
+    private final boolean header;
+    private final String commentStart;
+    private final String lineSeparator;
+
+    Dialect(char separator, char quote, boolean header, String commentStart, String lineSeparator) {
+        this.separator = separator;
+        this.quote = quote;
+        this.header = header;
+        this.commentStart = commentStart;
+        this.lineSeparator = lineSeparator;
+    }
+
+    public char getSeparator() {
+        return separator;
+    }
+
+    public char getQuote() {
+        return quote;
+    }
+
+    /**
+     * Is the first row a header containing the columns names?
+     */
+    public boolean hasHeader() {
+        return header;
+    }
+
+    /**
+     * The start of comment lines or {@code null} if there are no comments.
+     */
+    public String getCommentStart() {
+        return commentStart;
+    }
+
+    /**
+     * The line separator of the first line.
+     */
+    public String getLineSeparator() {
+        return lineSeparator;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof Dialect)) {
+            return false;
+        }
+        Dialect dialect = (Dialect) other;
+        return separator == dialect.separator && quote == dialect.quote && header == dialect.header
+                && Objects.equals(commentStart, dialect.commentStart) && lineSeparator.equals(dialect.lineSeparator);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(separator, quote, header, commentStart, lineSeparator);
+    }
+
+    @Override
+    public String toString() {
+        return "Dialect{separator=" + separator + ", quote=" + quote + ", header=" + header
+                + ", commentStart=" + commentStart + ", lineSeparator="
+                + lineSeparator.replace("\r", "\\r").replace("\n", "\\n") + '}';
+    }
+}
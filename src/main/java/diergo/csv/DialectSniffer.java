@@ -0,0 +1,252 @@
+package diergo.csv;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static diergo.csv.Row.DEFAULT_QUOTE;
+import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Determines the {@link Dialect} from a sample by parsing the sample once for every possible separator.
+ * The sample is cut after the last line break if it is not the complete data.
+ */
+final class DialectSniffer {
+
+    static final int SAMPLE_SIZE = 1 << 16;
+    static final int SAMPLE_RECORDS = 1000;
+
+    private static final String QUOTES = "\"'";
+    private static final String COMMENT_START = "#";
+
+    private final CharSequence possibleSeparators;
+    private final int maxRecords;
+
+    DialectSniffer(CharSequence possibleSeparators, int maxRecords) {
+        if (possibleSeparators.length() == 0) {
+            throw new IllegalArgumentException("at least one separator is needed");
+        }
+        this.possibleSeparators = possibleSeparators;
+        this.maxRecords = maxRecords;
+    }
+
+    Dialect sniff(Reader in, int sampleSize) throws IOException {
+        if (!in.markSupported()) {
+            throw new IllegalArgumentException("reader does not support mark");
+        }
+        char[] sample = new char[sampleSize];
+        int length = 0;
+        in.mark(sampleSize);
+        try {
+            int read = 0;
+            while (read >= 0 && length < sampleSize) {
+                read = in.read(sample, length, sampleSize - length);
+                length += Math.max(read, 0);
+            }
+            return sniff(new String(sample, 0, length), read >= 0);
+        } finally {
+            in.reset();
+        }
+    }
+
+    Dialect sniff(Path file, Charset charset, int sampleSize) throws IOException {
+        byte[] sample = new byte[(int) Math.ceil(sampleSize * charset.newEncoder().averageBytesPerChar())];
+        int length = 0;
+        try (InputStream in = Files.newInputStream(file)) {
+            int read = 0;
+            while (read >= 0 && length < sample.length) {
+                read = in.read(sample, length, sample.length - length);
+                length += Math.max(read, 0);
+            }
+            return sniff(charset.decode(ByteBuffer.wrap(sample, 0, length)), read >= 0);
+        }
+    }
+
+    /**
+     * Determines the dialect of the sample.
+     *
+     * @param truncated whether there is more data than the sample
+     */
+    Dialect sniff(CharSequence sample, boolean truncated) {
+        String text = truncated ? completeLines(sample) : sample.toString();
+        String commentStart = commentStart(text);
+        char quote = quote(text);
+        char separator = possibleSeparators.charAt(0);
+        List<Row> rows = emptyList();
+        long bestScore = Long.MIN_VALUE;
+        int bestCells = 0;
+        CsvEvents.Detection event = CsvEvents.current().detection(possibleSeparators);
+        for (int i = 0; i < possibleSeparators.length(); i++) {
+            char candidate = possibleSeparators.charAt(i);
+            AtomicInteger errors = new AtomicInteger();
+            List<Row> parsed = parse(text, candidate, quote, commentStart, errors);
+            int cells = mostFrequentLength(parsed);
+            long score = cells > 1 ? frequency(parsed, cells) - errors.get() : Long.MIN_VALUE + 1;
+            if (score > bestScore || (score == bestScore && cells > bestCells)) {
+                separator = candidate;
+                rows = parsed;
+                bestScore = score;
+                bestCells = cells;
+            }
+        }
+        event.end(separator);
+        return new Dialect(separator, quote, hasHeader(rows), commentStart, lineSeparator(text));
+    }
+
+    private List<Row> parse(String text, char separator, char quote, String commentStart, AtomicInteger errors) {
+        CsvParserBuilder builder = CsvParserBuilder.csvParser().separatedBy(separator).quotedWith(quote)
+                .handlingErrors((line, error) -> {
+                    errors.incrementAndGet();
+                    return emptyList();
+                });
+        if (commentStart != null) {
+            builder.commentsStartWith(commentStart);
+        }
+        try (Stream<Row> rows = builder.parse(new StringReader(text))) {
+            return rows.filter(row -> !row.isComment() && row.getLength() > 0).limit(maxRecords).collect(toList());
+        }
+    }
+
+    /**
+     * The number of cells most records have, the larger on a tie.
+     */
+    private static int mostFrequentLength(List<Row> rows) {
+        Map<Integer, Integer> frequencies = new HashMap<>();
+        int best = 0;
+        int bestFrequency = 0;
+        for (Row row : rows) {
+            int frequency = frequencies.merge(row.getLength(), 1, Integer::sum);
+            if (frequency > bestFrequency || (frequency == bestFrequency && row.getLength() > best)) {
+                best = row.getLength();
+                bestFrequency = frequency;
+            }
+        }
+        return best;
+    }
+
+    private static long frequency(List<Row> rows, int length) {
+        return rows.stream().filter(row -> row.getLength() == length).count();
+    }
+
+    /**
+     * The first row is a header if the cells of the columns vote for it: a column of numbers votes for a header if
+     * the first cell is no number, a column of cells with equal length votes for a header if the first cell has
+     * another length. Empty or duplicate cells in the first row are no header.
+     */
+    private static boolean hasHeader(List<Row> rows) {
+        if (rows.size() < 2) {
+            return false;
+        }
+        Row first = rows.get(0);
+        Set<String> names = new HashSet<>();
+        for (String name : first) {
+            if (name == null || name.trim().isEmpty() || !names.add(name)) {
+                return false;
+            }
+        }
+        int votes = 0;
+        for (int column = 0; column < first.getLength(); column++) {
+            boolean numbers = true;
+            int length = -1;
+            boolean equalLength = true;
+            for (Row row : rows.subList(1, rows.size())) {
+                if (row.getLength() > column) {
+                    String cell = row.get(column);
+                    numbers = numbers && isNumber(cell);
+                    equalLength = equalLength && (length < 0 || length == cell.length());
+                    length = cell.length();
+                }
+            }
+            if (numbers && length >= 0) {
+                votes += isNumber(first.get(column)) ? -1 : 1;
+            } else if (equalLength && length >= 0) {
+                votes += first.get(column).length() == length ? -1 : 1;
+            }
+        }
+        return votes > 0;
+    }
+
+    private static boolean isNumber(String cell) {
+        try {
+            Double.parseDouble(cell.trim());
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    /**
+     * The quote found most often at the start of a line or after a possible separator.
+     */
+    private char quote(String text) {
+        int[] counts = new int[QUOTES.length()];
+        int best = -1;
+        for (int i = 0; i < text.length(); i++) {
+            int quote = QUOTES.indexOf(text.charAt(i));
+            if (quote >= 0 && (i == 0 || isCellStart(text.charAt(i - 1)))) {
+                counts[quote]++;
+                best = best < 0 || counts[quote] > counts[best] ? quote : best;
+            }
+        }
+        return best < 0 ? DEFAULT_QUOTE : QUOTES.charAt(best);
+    }
+
+    private boolean isCellStart(char before) {
+        return before == '\n' || before == '\r' || indexOf(possibleSeparators, before) >= 0;
+    }
+
+    private static String commentStart(String text) {
+        int lines = 0;
+        int comments = 0;
+        for (String line : text.split("\r\n|\r|\n")) {
+            if (!RowParser.isEmpty(line)) {
+                lines++;
+                comments += line.startsWith(COMMENT_START) ? 1 : 0;
+            }
+        }
+        return comments > 0 && comments < lines ? COMMENT_START : null;
+    }
+
+    private static String lineSeparator(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '\n') {
+                return "\n";
+            }
+            if (text.charAt(i) == '\r') {
+                return i + 1 < text.length() && text.charAt(i + 1) == '\n' ? Appendables.CRLF : "\r";
+            }
+        }
+        return Appendables.CRLF;
+    }
+
+    private static String completeLines(CharSequence sample) {
+        for (int i = sample.length() - 1; i >= 0; i--) {
+            if (sample.charAt(i) == '\n' || sample.charAt(i) == '\r') {
+                return sample.subSequence(0, i + 1).toString();
+            }
+        }
+        return sample.toString();
+    }
+
+    private static int indexOf(CharSequence chars, char c) {
+        for (int i = 0; i < chars.length(); i++) {
+            if (chars.charAt(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
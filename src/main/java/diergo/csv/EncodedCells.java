@@ -0,0 +1,104 @@
+package diergo.csv;
+
+import java.nio.charset.Charset;
+
+/**
+ * A flyweight row referencing the bytes of a record scanned on the byte level and the offsets of its cells.
+ * A cell is decoded on each access only, malformed input is replaced. Quoted cells are unescaped on the byte
+ * level before decoding.
+ * <p>
+ * An instance can be reused for the next record by {@linkplain #reset(byte[], int, int[], int) resetting} it,
+ * so the row is valid until the next record is read only.
+ *
+ * @see RecordScanner#toRow(byte[], int, EncodedCells)
+ */
+class EncodedCells extends ScannedCells {
+
+    private final byte quote;
+    private final Charset charset;
+    private byte[] buffer;
+
+    /**
+     * Creates an empty row.
+     */
+    EncodedCells(byte quote, Charset charset) {
+        this.quote = quote;
+        this.charset = charset;
+    }
+
+    /**
+     * Points this row to another record.
+     *
+     * @param bounds pairs of cell start and end relative to {@code start}, only the first {@code length} are used
+     */
+    EncodedCells reset(byte[] buffer, int start, int[] bounds, int length) {
+        this.buffer = buffer;
+        reset(start, bounds, length);
+        return this;
+    }
+
+    @Override
+    public boolean contentEquals(int index, CharSequence content) {
+        for (int i = 0; i < content.length(); i++) {
+            if (content.charAt(i) >= 0x80) {
+                return get(index).contentEquals(content);
+            }
+        }
+        return super.contentEquals(index, content);
+    }
+
+    /**
+     * The view of the window is used for ASCII cells only, others are decoded.
+     */
+    @Override
+    CharSequence sequence(int index) {
+        CharSequence cell = super.sequence(index);
+        if (cell instanceof String) {
+            return cell;
+        }
+        for (int i = 0; i < cell.length(); i++) {
+            if (cell.charAt(i) >= 0x80) {
+                return get(index);
+            }
+        }
+        return cell;
+    }
+
+    @Override
+    char charAt(int position) {
+        return (char) (buffer[position] & 0xff);
+    }
+
+    @Override
+    char quote() {
+        return (char) quote;
+    }
+
+    @Override
+    String decode(int from, int to) {
+        return new String(buffer, from, to - from, charset);
+    }
+
+    @Override
+    String unescape(int from, int to) {
+        byte[] unescaped = new byte[to - from];
+        int length = 0;
+        for (int i = from; i < to; i++) {
+            byte b = buffer[i];
+            if (b == quote) {
+                if (i + 1 < to && buffer[i + 1] == quote) {
+                    unescaped[length++] = b;
+                    i++;
+                }
+            } else if (b == '\r') {
+                unescaped[length++] = '\n';
+                if (i + 1 < to && buffer[i + 1] == '\n') {
+                    i++;
+                }
+            } else {
+                unescaped[length++] = b;
+            }
+        }
+        return new String(unescaped, 0, length, charset);
+    }
+}
@@ -17,9 +17,15 @@ public final class ErrorHandlers {
 
     /**
      * Creates an error handler simply throwing the error and stopping parsing.
+     * The stack trace of a {@link CsvParseException} is filled in when thrown.
      */
     public static BiFunction<String, RuntimeException, List<Row>> throwingError() {
-        return (line, error) -> { throw error; };
+        return (line, error) -> {
+            if (error instanceof CsvParseException) {
+                error.fillInStackTrace();
+            }
+            throw error;
+        };
     }
 
     /**
@@ -0,0 +1,155 @@
+package diergo.csv;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+
+/**
+ * Reads rows from a range of a memory mapped file. The range can be split at record boundaries to parse the parts
+ * in parallel, each part is read by its own {@link ByteRowSpliterator} using a {@link MappedInputStream} or by a
+ * {@link RowSpliterator} using a {@link MappedReader} if the data cannot be parsed on the byte level.
+ * The line numbers of error messages are relative to the part.
+ *
+ * @see RecordBoundaries
+ */
+final class FileRowSpliterator implements Spliterator<Row> {
+
+    static final int MIN_SPLIT_SIZE = 1 << 20;
+    static final int LOOK_AHEAD = 1 << 16;
+
+    private final FileChannel channel;
+    private final Charset charset;
+    private final RowParser parser;
+    private final int minSplitSize;
+    private final long end;
+    private long start;
+    private RecordBoundaries boundaries;
+    private boolean splittable = true;
+    private AbstractRowSpliterator rows;
+
+    FileRowSpliterator(FileChannel channel, Charset charset, RowParser parser) throws IOException {
+        this(channel, charset, parser, MIN_SPLIT_SIZE);
+    }
+
+    FileRowSpliterator(FileChannel channel, Charset charset, RowParser parser, int minSplitSize) throws IOException {
+        this(channel, charset, parser, minSplitSize, 0, channel.size());
+    }
+
+    private FileRowSpliterator(FileChannel channel, Charset charset, RowParser parser, int minSplitSize, long start, long end) {
+        this.channel = channel;
+        this.charset = charset;
+        this.parser = parser;
+        this.minSplitSize = minSplitSize;
+        this.start = start;
+        this.end = end;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Row> action) {
+        if (rows == null) {
+            rows = ByteRowSpliterator.isApplicable(parser, charset)
+                    ? new ByteRowSpliterator(new MappedInputStream(channel, start, end, false), charset, parser)
+                    : new RowSpliterator(new MappedReader(channel, start, end, charset, false, MappedReader.CHUNK_SIZE, parser.validatingEncoding), parser);
+            if (start > 0) {
+                rows.startingWithinInput();
+            }
+        }
+        return rows.tryAdvance(action);
+    }
+
+    @Override
+    public Spliterator<Row> trySplit() {
+        if (rows != null || end - start < minSplitSize || !prepareSplitting()) {
+            return null;
+        }
+        long boundary = nextRecordStart(start + (end - start) / 2);
+        if (boundary <= start || boundary >= end) {
+            return null;
+        }
+        FileRowSpliterator prefix = new FileRowSpliterator(channel, charset, parser, minSplitSize, start, boundary);
+        prefix.boundaries = boundaries;
+        start = boundary;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return end - start;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL;
+    }
+
+    /**
+     * Closes the file, used as stream close handler.
+     *
+     * @see java.util.stream.Stream#onClose(Runnable)
+     */
+    void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot close underlying file", e);
+        }
+    }
+
+    private boolean prepareSplitting() {
+        if (boundaries == null && splittable) {
+            Character separator = determineSeparator();
+            boundaries = separator == null ? null : RecordBoundaries.of(separator, parser, charset);
+            splittable = boundaries != null;
+            if (splittable && parser.needsHeader()) {
+                resolveHeader();
+            }
+        }
+        return splittable;
+    }
+
+    private Character determineSeparator() {
+        try (BufferedReader head = new BufferedReader(new MappedReader(channel, start, Math.min(end, start + LOOK_AHEAD), charset, false))) {
+            String line;
+            while ((line = head.readLine()) != null) {
+                boolean comment = parser.commentStart != null && line.startsWith(parser.commentStart);
+                if (!RowParser.isEmpty(line) && !comment) {
+                    return parser.determiner.apply(line);
+                }
+            }
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Resolves the names of selected or filtered columns from the header before parsing any later part. The head is
+     * read by a parser reading ahead, so it is not recorded twice. The part starting at the beginning of the file
+     * keeps its first record as header.
+     */
+    private void resolveHeader() {
+        RowParser ahead = parser.readingAhead();
+        RowSpliterator head = new RowSpliterator(new MappedReader(channel, start, Math.min(end, start + LOOK_AHEAD), charset, false), ahead);
+        while (ahead.needsHeader() && head.tryAdvance(row -> { })) {
+            // the header resolves the column names
+        }
+    }
+
+    private long nextRecordStart(long middle) {
+        long from = middle - 1;
+        try {
+            ByteBuffer window = channel.map(READ_ONLY, from, Math.min(LOOK_AHEAD + 1, end - from));
+            int next = boundaries.next(window, 1);
+            return next < 0 ? -1 : from + next;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package diergo.csv;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A data map storing the values of the columns in a flat array indexed by an immutable header shared by all maps
+ * of the same data. Getting a value by name is an index lookup, no entry is allocated per value.
+ * <p>
+ * The map is modifiable: values of header columns can be replaced and removed, other keys are stored in an
+ * additional map. Iteration is in header order followed by other keys in insertion order. Other than a
+ * {@link LinkedHashMap} a removed header column added again keeps its position.
+ *
+ * @see Maps#toIndexedMaps(List)
+ */
+final class IndexedMap extends AbstractMap<String, String> {
+
+    private static final Object ABSENT = new Object();
+
+    private final Header header;
+    private final Object[] values;
+    private int size;
+    private Map<String, String> others;
+
+    /**
+     * Creates a map of the values for the columns of the header.
+     *
+     * @throws IndexOutOfBoundsException if there are more values than columns
+     */
+    IndexedMap(Header header, Row row) {
+        if (row.getLength() > header.names.length) {
+            throw new IndexOutOfBoundsException("Index: " + header.names.length + ", Size: " + header.names.length);
+        }
+        this.header = header;
+        this.values = new Object[header.names.length];
+        for (int i = 0; i < values.length; i++) {
+            if (i < row.getLength() && header.indexes.get(header.names[i]) == i) {
+                values[i] = row.get(i);
+                size++;
+            } else {
+                values[i] = ABSENT;
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return size + (others == null ? 0 : others.size());
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        Integer index = header.indexes.get(key);
+        if (index != null) {
+            return values[index] != ABSENT;
+        }
+        return others != null && others.containsKey(key);
+    }
+
+    @Override
+    public String get(Object key) {
+        Integer index = header.indexes.get(key);
+        if (index != null) {
+            return valueAt(index);
+        }
+        return others == null ? null : others.get(key);
+    }
+
+    /**
+     * The value of the column at the index of the header.
+     */
+    String valueAt(int index) {
+        Object value = values[index];
+        return value == ABSENT ? null : (String) value;
+    }
+
+    Header header() {
+        return header;
+    }
+
+    @Override
+    public String put(String key, String value) {
+        Integer index = header.indexes.get(key);
+        if (index != null) {
+            return set(index, value);
+        }
+        if (others == null) {
+            others = new LinkedHashMap<>();
+        }
+        return others.put(key, value);
+    }
+
+    @Override
+    public String remove(Object key) {
+        Integer index = header.indexes.get(key);
+        if (index != null) {
+            return set(index, ABSENT);
+        }
+        return others == null ? null : others.remove(key);
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < values.length; i++) {
+            values[i] = ABSENT;
+        }
+        size = 0;
+        others = null;
+    }
+
+    @Override
+    public Set<Map.Entry<String, String>> entrySet() {
+        return new Entries();
+    }
+
+    private String set(int index, Object value) {
+        Object old = values[index];
+        values[index] = value;
+        if (old == ABSENT && value != ABSENT) {
+            size++;
+        } else if (old != ABSENT && value == ABSENT) {
+            size--;
+        }
+        return old == ABSENT ? null : (String) old;
+    }
+
+    /**
+     * The column names and their index, shared by all maps of the same data.
+     * For duplicate names the last column is used.
+     */
+    static final class Header {
+        final String[] names;
+        final Map<String, Integer> indexes;
+
+        Header(List<String> names) {
+            this.names = names.toArray(new String[0]);
+            Map<String, Integer> indexes = new HashMap<>();
+            for (int i = 0; i < this.names.length; i++) {
+                indexes.put(this.names[i], i);
+            }
+            this.indexes = Collections.unmodifiableMap(indexes);
+        }
+    }
+
+    private final class Entries extends AbstractSet<Map.Entry<String, String>> {
+
+        @Override
+        public int size() {
+            return IndexedMap.this.size();
+        }
+
+        @Override
+        public Iterator<Map.Entry<String, String>> iterator() {
+            return new EntryIterator();
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Map.Entry<String, String>> {
+        private int next = advance(0);
+        private int last = -1;
+        private Iterator<Map.Entry<String, String>> other;
+
+        @Override
+        public boolean hasNext() {
+            return next < values.length || others().hasNext();
+        }
+
+        @Override
+        public Map.Entry<String, String> next() {
+            if (next < values.length) {
+                last = next;
+                next = advance(next + 1);
+                return new IndexedEntry(last);
+            }
+            if (!others().hasNext()) {
+                throw new NoSuchElementException();
+            }
+            last = -1;
+            return other.next();
+        }
+
+        @Override
+        public void remove() {
+            if (last >= 0) {
+                set(last, ABSENT);
+                last = -1;
+            } else {
+                others().remove();
+            }
+        }
+
+        private int advance(int from) {
+            int index = from;
+            while (index < values.length && values[index] == ABSENT) {
+                index++;
+            }
+            return index;
+        }
+
+        private Iterator<Map.Entry<String, String>> others() {
+            if (other == null) {
+                other = others == null ? Collections.<Map.Entry<String, String>>emptyIterator() : others.entrySet().iterator();
+            }
+            return other;
+        }
+    }
+
+    private final class IndexedEntry implements Map.Entry<String, String> {
+        private final int index;
+
+        IndexedEntry(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public String getKey() {
+            return header.names[index];
+        }
+
+        @Override
+        public String getValue() {
+            return valueAt(index);
+        }
+
+        @Override
+        public String setValue(String value) {
+            return set(index, value);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> other = (Map.Entry<?, ?>) obj;
+            return getKey().equals(other.getKey()) && Objects.equals(getValue(), other.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return getKey().hashCode() ^ Objects.hashCode(getValue());
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + "=" + getValue();
+        }
+    }
+}
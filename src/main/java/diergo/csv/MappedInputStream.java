@@ -0,0 +1,79 @@
+package diergo.csv;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+
+/**
+ * Reads bytes from a range of a file by copying from memory mapped chunks. The channel position is not used,
+ * so multiple streams can read parts of the same file concurrently.
+ *
+ * @see MappedReader
+ */
+class MappedInputStream extends InputStream {
+
+    private final FileChannel channel;
+    private final boolean closeChannel;
+    private final long end;
+    private final int chunkSize;
+    private long position;
+    private ByteBuffer chunk;
+
+    MappedInputStream(FileChannel channel, long start, long end, boolean closeChannel) {
+        this(channel, start, end, closeChannel, MappedReader.CHUNK_SIZE);
+    }
+
+    MappedInputStream(FileChannel channel, long start, long end, boolean closeChannel, int chunkSize) {
+        this.channel = channel;
+        this.position = start;
+        this.end = end;
+        this.closeChannel = closeChannel;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public int read() throws IOException {
+        return nextChunk() ? chunk.get() & 0xff : -1;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!nextChunk()) {
+            return -1;
+        }
+        int read = Math.min(len, chunk.remaining());
+        chunk.get(b, off, read);
+        return read;
+    }
+
+    @Override
+    public int available() {
+        return chunk == null ? 0 : chunk.remaining();
+    }
+
+    @Override
+    public void close() throws IOException {
+        chunk = null;
+        if (closeChannel) {
+            channel.close();
+        }
+    }
+
+    private boolean nextChunk() throws IOException {
+        if (chunk == null || !chunk.hasRemaining()) {
+            if (position >= end) {
+                return false;
+            }
+            long size = Math.min(chunkSize, end - position);
+            chunk = channel.map(READ_ONLY, position, size);
+            position += size;
+        }
+        return true;
+    }
+}
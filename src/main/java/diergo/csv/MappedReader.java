@@ -0,0 +1,94 @@
+package diergo.csv;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+
+/**
+ * Reads characters from a range of a file by decoding memory mapped chunks directly into the buffer of the caller.
+ * Characters spanning chunks are handled by mapping the next chunk from the first byte not decoded.
+ * Malformed input is replaced unless the reader is validating.
+ */
+class MappedReader extends Reader {
+
+    static final int CHUNK_SIZE = 1 << 26;
+
+    private final FileChannel channel;
+    private final boolean closeChannel;
+    private final long end;
+    private final int chunkSize;
+    private final CharsetDecoder decoder;
+    private long position;
+    private ByteBuffer chunk;
+    private boolean lastChunk;
+    private boolean flushed;
+
+    MappedReader(FileChannel channel, long start, long end, Charset charset, boolean closeChannel) {
+        this(channel, start, end, charset, closeChannel, CHUNK_SIZE);
+    }
+
+    MappedReader(FileChannel channel, long start, long end, Charset charset, boolean closeChannel, int chunkSize) {
+        this(channel, start, end, charset, closeChannel, chunkSize, false);
+    }
+
+    MappedReader(FileChannel channel, long start, long end, Charset charset, boolean closeChannel, int chunkSize, boolean validating) {
+        CodingErrorAction action = validating ? CodingErrorAction.REPORT : CodingErrorAction.REPLACE;
+        this.channel = channel;
+        this.position = start;
+        this.end = end;
+        this.closeChannel = closeChannel;
+        this.chunkSize = chunkSize;
+        this.decoder = charset.newDecoder()
+                .onMalformedInput(action)
+                .onUnmappableCharacter(action);
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (flushed) {
+            return -1;
+        }
+        CharBuffer out = CharBuffer.wrap(cbuf, off, len);
+        while (out.hasRemaining()) {
+            if (chunk == null) {
+                long size = Math.min(chunkSize, end - position);
+                chunk = channel.map(READ_ONLY, position, size);
+                lastChunk = position + size == end;
+            }
+            CoderResult result = decoder.decode(chunk, out, lastChunk);
+            if (result.isOverflow()) {
+                break;
+            }
+            if (result.isError()) {
+                result.throwException();
+            }
+            if (lastChunk) {
+                flushed = !decoder.flush(out).isOverflow();
+                break;
+            }
+            position += chunk.position();
+            chunk = null;
+        }
+        int read = out.position() - off;
+        return read == 0 && flushed ? -1 : read;
+    }
+
+    @Override
+    public void close() throws IOException {
+        chunk = null;
+        if (closeChannel) {
+            channel.close();
+        }
+    }
+}
@@ -25,7 +25,7 @@ public final class Maps {
      * A mapper to convert rows to data maps using the columns names in header.
      */
     public static Function<Row, List<Map<String, String>>> toMaps(List<String> header) {
-        return new Row2MapFunction(header);
+        return new Row2MapFunction(header, false);
     }
 
     /**
@@ -35,6 +35,48 @@ public final class Maps {
         return toMaps(null);
     }
 
+    /**
+     * A mapper to convert rows to data maps using the columns names in header. Other than {@link #toMaps(List)} all
+     * maps share one immutable index of the column names and store the values in a flat array, so getting a value
+     * is an index lookup and no entry is allocated per value. The maps are modifiable, values of other keys are
+     * stored additionally. They iterate in column order like the maps created by {@link #toMaps(List)}.
+     *
+     * @since 3.3.0
+     */
+    public static Function<Row, List<Map<String, String>>> toIndexedMaps(List<String> header) {
+        return new Row2MapFunction(header, true);
+    }
+
+    /**
+     * A mapper to convert rows to indexed data maps using the columns names from the first row.
+     *
+     * @see #toIndexedMaps(List)
+     * @since 3.3.0
+     */
+    public static Function<Row, List<Map<String, String>>> toIndexedMaps() {
+        return toIndexedMaps(null);
+    }
+
+    /**
+     * A column to access the values by index instead of by name. The column has to be
+     * {@linkplain Column#resolve(Row) resolved} using the header row before accessing rows.
+     *
+     * @since 3.3.0
+     */
+    public static Column column(String name) {
+        return new Column(name, -1);
+    }
+
+    /**
+     * A column resolved using the columns names in header.
+     *
+     * @throws IllegalArgumentException if the name is not part of the header
+     * @since 3.3.0
+     */
+    public static Column column(String name, List<String> header) {
+        return new Column(name, Column.indexOf(header, name));
+    }
+
     /**
      * A mapper to convert data maps to rows using the columns order in header. Other map values are
      * ignored. The columns names are not written as header.
@@ -148,9 +190,13 @@ public final class Maps {
     private static class Row2MapFunction implements Function<Row, List<Map<String, String>>> {
 
         private final AtomicReference<List<String>> header;
+        private final AtomicReference<IndexedMap.Header> index;
+        private final boolean indexed;
 
-        Row2MapFunction(List<String> header) {
+        Row2MapFunction(List<String> header, boolean indexed) {
             this.header = new AtomicReference<>(header);
+            this.index = new AtomicReference<>(indexed && header != null ? new IndexedMap.Header(header) : null);
+            this.indexed = indexed;
         }
 
         @Override
@@ -158,14 +204,19 @@ public final class Maps {
             if (values.isComment()) {
                 return emptyList();
             }
-            if (header.compareAndSet(null, stream(values.spliterator(), false).collect(toList()))) {
+            if (indexed) {
+                if (index.get() == null && index.compareAndSet(null, new IndexedMap.Header(stream(values.spliterator(), false).collect(toList())))) {
+                    return emptyList();
+                }
+                return singletonList(new IndexedMap(index.get(), values));
+            }
+            if (header.get() == null && header.compareAndSet(null, stream(values.spliterator(), false).collect(toList()))) {
                 return emptyList();
             }
             List<String> keys = header.get();
-            int i = 0;
             Map<String, String> result = new LinkedHashMap<>();
-            for (String value : values) {
-                result.put(keys.get(i++), value);
+            for (int i = 0; i < values.getLength(); i++) {
+                result.put(keys.get(i), values.get(i));
             }
             return singletonList(result);
         }
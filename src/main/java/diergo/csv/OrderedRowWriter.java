@@ -0,0 +1,149 @@
+package diergo.csv;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.Stream;
+
+/**
+ * Writes the rows of a stream to an appendable in encounter order. The spliterator of a parallel stream is split
+ * in order into parts of a bounded size, which are printed to blocks by tasks of a pool. The calling thread writes
+ * the blocks of the first part as soon as it is printed, and does not start more parts than twice the parallelism
+ * of the pool, so the memory needed is bounded by the parts in progress instead of the whole output.
+ * A sequential stream or a stream which cannot be split is printed by the calling thread to a single block written
+ * when filled. The appendable is accessed by the calling thread only.
+ */
+final class OrderedRowWriter {
+
+    static final int BLOCK_SIZE = 1 << 16;
+    static final long PART_SIZE = 1 << 14;
+
+    private final RowPrinter printer;
+    private final String lineSep;
+    private final ForkJoinPool pool;
+
+    OrderedRowWriter(RowPrinter printer, String lineSep) {
+        this(printer, lineSep, ForkJoinPool.commonPool());
+    }
+
+    OrderedRowWriter(RowPrinter printer, String lineSep, ForkJoinPool pool) {
+        this.printer = printer;
+        this.lineSep = lineSep;
+        this.pool = pool;
+    }
+
+    <R extends Appendable> R write(Stream<? extends Row> rows, R out) {
+        boolean parallel = rows.isParallel();
+        Spliterator<? extends Row> all = rows.spliterator();
+        Parts parts = new Parts(all, Math.min(PART_SIZE, Math.max(1, all.estimateSize() / (4L * pool.getParallelism()))));
+        Spliterator<? extends Row> part = parallel ? parts.next() : all;
+        if (part == all) {
+            writeDirectly(all, out);
+            return out;
+        }
+        int maxParts = 2 * pool.getParallelism();
+        Deque<ForkJoinTask<List<StringBuilder>>> printing = new ArrayDeque<>();
+        try {
+            while (part != null) {
+                if (printing.size() >= maxParts) {
+                    write(printing.removeFirst().join(), out);
+                }
+                Spliterator<? extends Row> rowsOfPart = part;
+                printing.addLast(pool.submit(() -> print(rowsOfPart)));
+                part = parts.next();
+            }
+            while (!printing.isEmpty()) {
+                write(printing.removeFirst().join(), out);
+            }
+        } finally {
+            printing.forEach(task -> task.cancel(false));
+        }
+        return out;
+    }
+
+    private List<StringBuilder> print(Spliterator<? extends Row> part) {
+        List<StringBuilder> blocks = new ArrayList<>();
+        blocks.add(new StringBuilder(BLOCK_SIZE + 256));
+        part.forEachRemaining(row -> {
+            StringBuilder block = blocks.get(blocks.size() - 1);
+            // a new block is started if filled to avoid copying large buffers when growing
+            if (block.length() >= BLOCK_SIZE) {
+                block = new StringBuilder(BLOCK_SIZE + 256);
+                blocks.add(block);
+            }
+            printTo(row, block);
+        });
+        return blocks;
+    }
+
+    private void writeDirectly(Spliterator<? extends Row> rows, Appendable out) {
+        StringBuilder block = new StringBuilder(BLOCK_SIZE + 256);
+        rows.forEachRemaining(row -> {
+            printTo(row, block);
+            if (block.length() >= BLOCK_SIZE) {
+                write(block, out);
+                block.setLength(0);
+            }
+        });
+        write(block, out);
+    }
+
+    private void printTo(Row row, StringBuilder block) {
+        try {
+            printer.printTo(row, block).append(lineSep);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void write(List<StringBuilder> blocks, Appendable out) {
+        // releasing each block written
+        for (int i = 0; i < blocks.size(); i++) {
+            write(blocks.set(i, null), out);
+        }
+    }
+
+    private void write(StringBuilder block, Appendable out) {
+        if (block.length() == 0) {
+            return;
+        }
+        long start = printer.metrics == null ? 0 : System.nanoTime();
+        try {
+            out.append(block);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (printer.metrics != null) {
+            printer.metrics.io(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * The parts of a spliterator in encounter order, split lazily: the suffixes not split yet are kept in a stack.
+     */
+    static final class Parts {
+        private final Deque<Spliterator<? extends Row>> remaining = new ArrayDeque<>();
+        private final long size;
+
+        Parts(Spliterator<? extends Row> all, long size) {
+            remaining.push(all);
+            this.size = size;
+        }
+
+        Spliterator<? extends Row> next() {
+            Spliterator<? extends Row> part = remaining.poll();
+            Spliterator<? extends Row> prefix;
+            while (part != null && part.estimateSize() > size && (prefix = part.trySplit()) != null) {
+                remaining.push(part);
+                part = prefix;
+            }
+            return part;
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package diergo.csv;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Reads bytes from a source on a background thread into a ring of reusable buffers. Filled buffers are handed
+ * over by a bounded queue, so reading the source like inflating or waiting for I/O overlaps with consuming.
+ * If all buffers are filled, the background thread waits for the consumer to return one.
+ * A virtual thread is used if available, it is looked up by reflection to support older Java versions.
+ * <p>
+ * A failure of the source is passed to the consumer after all bytes read before, I/O exceptions are thrown
+ * unchanged. Closing the stream stops the background thread and closes the source.
+ */
+final class ReadAheadInputStream extends InputStream {
+
+    static final int BUFFER_SIZE = 1 << 16;
+    static final int BUFFERS = 4;
+
+    private static final Method VIRTUAL_THREAD_BUILDER;
+    private static final Method UNSTARTED;
+
+    static {
+        Method builder = null;
+        Method unstarted = null;
+        try {
+            builder = Thread.class.getMethod("ofVirtual");
+            unstarted = Class.forName("java.lang.Thread$Builder").getMethod("unstarted", Runnable.class);
+        } catch (ReflectiveOperationException e) {
+            builder = null;
+        }
+        VIRTUAL_THREAD_BUILDER = builder;
+        UNSTARTED = unstarted;
+    }
+
+    private final Producer producer;
+    private final Thread thread;
+    private Block current;
+    private int position;
+
+    ReadAheadInputStream(InputStream source) {
+        this(source, BUFFER_SIZE, BUFFERS);
+    }
+
+    ReadAheadInputStream(InputStream source, int bufferSize, int buffers) {
+        if (bufferSize <= 0 || buffers <= 0) {
+            throw new IllegalArgumentException("buffer size and buffers must be positive: " + bufferSize + ", " + buffers);
+        }
+        this.producer = new Producer(source, bufferSize, buffers);
+        this.thread = newThread(producer);
+        thread.setName("csv-read-ahead");
+        thread.start();
+    }
+
+    /**
+     * Creates a virtual thread if available (Java 21 and newer), otherwise a daemon thread.
+     */
+    static Thread newThread(Runnable task) {
+        if (VIRTUAL_THREAD_BUILDER != null) {
+            try {
+                return (Thread) UNSTARTED.invoke(VIRTUAL_THREAD_BUILDER.invoke(null), task);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                // fall back to a platform thread
+            }
+        }
+        Thread thread = new Thread(task);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    @Override
+    public int read() throws IOException {
+        return nextBlock() ? current.data[position++] & 0xff : -1;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!nextBlock()) {
+            return -1;
+        }
+        int read = Math.min(len, current.length - position);
+        System.arraycopy(current.data, position, b, off, read);
+        position += read;
+        return read;
+    }
+
+    @Override
+    public int available() {
+        return current == null ? 0 : current.length - position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!producer.closed) {
+            producer.closed = true;
+            thread.interrupt();
+            producer.source.close();
+        }
+    }
+
+    private boolean nextBlock() throws IOException {
+        if (producer.closed) {
+            throw new IOException("Stream closed");
+        }
+        if (current != null && position < current.length) {
+            return true;
+        }
+        if (current != null && (current.isEnd() || current.failure != null)) {
+            return checkedEnd();
+        }
+        if (current != null) {
+            producer.free.add(current);
+        }
+        try {
+            current = producer.filled.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            current = null;
+            throw new InterruptedIOException("Interrupted while waiting for data");
+        }
+        position = 0;
+        return current.data.length > 0 || checkedEnd();
+    }
+
+    private boolean checkedEnd() throws IOException {
+        if (current.failure instanceof IOException) {
+            throw (IOException) current.failure;
+        }
+        if (current.failure != null) {
+            throw new IOException("Cannot read ahead: " + current.failure.getMessage(), current.failure);
+        }
+        return false;
+    }
+
+    private static final class Producer implements Runnable {
+        final InputStream source;
+        final BlockingQueue<Block> free;
+        final BlockingQueue<Block> filled;
+        volatile boolean closed;
+
+        Producer(InputStream source, int bufferSize, int buffers) {
+            this.source = source;
+            this.free = new ArrayBlockingQueue<>(buffers);
+            this.filled = new ArrayBlockingQueue<>(buffers + 1);
+            for (int i = 0; i < buffers; i++) {
+                free.add(new Block(new byte[bufferSize]));
+            }
+        }
+
+        @Override
+        public void run() {
+            Block block = null;
+            try {
+                while (!closed) {
+                    block = free.take();
+                    block.length = 0;
+                    int read = 0;
+                    while (read >= 0 && block.length < block.data.length) {
+                        read = source.read(block.data, block.length, block.data.length - block.length);
+                        block.length += Math.max(read, 0);
+                    }
+                    if (block.length > 0) {
+                        filled.put(block);
+                    }
+                    block = null;
+                    if (read < 0) {
+                        filled.put(Block.END);
+                        return;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException | RuntimeException e) {
+                if (!closed) {
+                    if (block != null && block.length > 0) {
+                        filled.add(block);
+                    }
+                    filled.add(new Block(e));
+                }
+            }
+        }
+    }
+
+    private static final class Block {
+        static final Block END = new Block(new byte[0]);
+
+        final byte[] data;
+        final Exception failure;
+        int length;
+
+        Block(byte[] data) {
+            this.data = data;
+            this.failure = null;
+        }
+
+        Block(Exception failure) {
+            this.data = new byte[0];
+            this.failure = failure;
+        }
+
+        boolean isEnd() {
+            return this == END;
+        }
+    }
+}
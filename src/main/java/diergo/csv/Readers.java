@@ -1,8 +1,15 @@
 package diergo.csv;
 
 import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.Reader;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
 
 /**
  * Helpers for {@link Reader} usage.
@@ -19,6 +26,76 @@ public class Readers {
         return reader.lines();
     }
 
+    /**
+     * Creates a reader for a file by memory mapping it. The content is decoded directly from the mapped memory,
+     * so the operating system is buffering the file. Closing the reader closes the file.
+     *
+     * @see FileChannel#map(FileChannel.MapMode, long, long)
+     * @see CsvParserBuilder#parse(Reader)
+     * @since 3.3.0
+     */
+    public static Reader mapped(Path file, Charset charset) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            return new MappedReader(channel, 0, channel.size(), charset, true);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Creates a stream reading ahead using 4 buffers of 64KiB.
+     *
+     * @see #readingAhead(InputStream, int, int)
+     * @since 3.3.0
+     */
+    public static InputStream readingAhead(InputStream in) {
+        return new ReadAheadInputStream(in);
+    }
+
+    /**
+     * Creates a stream reading large blocks of the input stream ahead on a dedicated thread, so waiting for I/O
+     * overlaps with parsing. The blocks are read into a ring of reusable buffers, if all are filled reading waits
+     * until the consumer has finished a buffer. A failure reading is thrown to the consumer after all data read
+     * before, I/O exceptions like a {@link java.util.zip.ZipException} are thrown unchanged. Closing the stream stops reading and closes the input stream. On Java 21 and newer a virtual thread
+     * is used, otherwise a daemon thread.
+     *
+     * @param bufferSize the size of each buffer
+     * @param buffers    the number of buffers
+     * @throws IllegalArgumentException if the buffer size or the number of buffers is not positive
+     * @see CsvParserBuilder#parse(InputStream, Charset)
+     * @see #closeHandler(InputStream)
+     * @since 3.3.0
+     */
+    public static InputStream readingAhead(InputStream in, int bufferSize, int buffers) {
+        return new ReadAheadInputStream(in, bufferSize, buffers);
+    }
+
+    /**
+     * Creates a stream decompressing gzip data using buffers of the default size.
+     *
+     * @see #gzipped(InputStream, int)
+     * @since 3.3.0
+     */
+    public static InputStream gzipped(InputStream in) throws IOException {
+        return gzipped(in, ReadAheadInputStream.BUFFER_SIZE);
+    }
+
+    /**
+     * Creates a stream decompressing gzip data. The data is inflated on a background thread into a few buffers
+     * ahead of the consumer, so inflating overlaps with parsing. The header is read immediately.
+     * Closing the stream stops inflating and closes the compressed stream.
+     *
+     * @param bufferSize the size of the buffers for compressed and decompressed data
+     * @see CsvParserBuilder#parse(InputStream, Charset)
+     * @see Appendables#gzipped(java.io.OutputStream, int)
+     * @since 3.3.0
+     */
+    public static InputStream gzipped(InputStream in, int bufferSize) throws IOException {
+        return new ReadAheadInputStream(new GZIPInputStream(in, bufferSize), bufferSize, ReadAheadInputStream.BUFFERS);
+    }
+
     /**
      * Creates a handler to close the reader wrapping any exception to an unchecked one.
      *
@@ -34,6 +111,22 @@ public class Readers {
         };
     }
 
+    /**
+     * Creates a handler to close the input stream wrapping any exception to an unchecked one.
+     *
+     * @see Stream#onClose(Runnable)
+     * @since 3.3.0
+     */
+    public static Runnable closeHandler(InputStream in) {
+        return () -> {
+            try {
+                in.close();
+            } catch (Exception e) {
+                throw new IllegalStateException("Cannot close underlying stream", e);
+            }
+        };
+    }
+
     private Readers() {
     }
 }
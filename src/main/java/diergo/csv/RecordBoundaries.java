@@ -0,0 +1,140 @@
+package diergo.csv;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Finds the start of a record in encoded CSV data from any position, without knowing whether the position is
+ * part of a quoted cell. This is used to split data into parts to be parsed independently.
+ * <p>
+ * The quote state is derived from quotes next to cell content: a quote preceded by content can only be
+ * an escaped or closing quote, a quote followed by content can only be an opening or escaped quote.
+ * So the first run of quotes having content on one side defines the state, the first line break outside of quotes
+ * after that ends a record. If there is no quote at all, the first line break is used.
+ * This is correct for data quoted as defined in <a href="http://tools.ietf.org/html/rfc4180">RFC 4180</a>,
+ * so it cannot be used in {@linkplain CsvParserBuilder#inLaxMode() lax mode}.
+ * Quotes in lines starting like a comment are not taken into account.
+ */
+class RecordBoundaries {
+
+    private final byte separator;
+    private final byte quote;
+    private final byte[] commentStart;
+
+    private RecordBoundaries(byte separator, byte quote, byte[] commentStart) {
+        this.separator = separator;
+        this.quote = quote;
+        this.commentStart = commentStart;
+    }
+
+    /**
+     * Creates the boundary finder for the configuration, if the charset encodes the characters in question as
+     * single bytes never being part of other characters.
+     *
+     * @return {@code null} if boundaries cannot be found on the byte level
+     */
+    static RecordBoundaries of(char separator, RowParser parser, Charset charset) {
+        if (parser.laxMode || !isAsciiCompatible(charset) || separator >= 0x80 || parser.quote >= 0x80) {
+            return null;
+        }
+        byte[] commentStart = parser.commentStart == null ? new byte[0] : parser.commentStart.getBytes(charset);
+        return new RecordBoundaries((byte) separator, (byte) parser.quote, commentStart);
+    }
+
+    /**
+     * Whether all ASCII characters are encoded as single bytes not used within other characters.
+     */
+    static boolean isAsciiCompatible(Charset charset) {
+        String name = charset.name();
+        return charset.equals(UTF_8) || charset.equals(US_ASCII) || charset.equals(ISO_8859_1)
+                || name.startsWith("ISO-8859-") || name.startsWith("windows-125");
+    }
+
+    /**
+     * Finds the first record start at or after {@code from} within the data up to the limit.
+     * The bytes before {@code from} are used to classify quotes at {@code from}, a run of quotes reaching the start
+ * of the data is classified by the content following it only.
+     *
+     * @return the position of the record start or {@code -1} if it cannot be determined
+     */
+    int next(ByteBuffer data, int from) {
+        int limit = data.limit();
+        boolean quotes = false;
+        boolean commentLine = commentStart.length > 0;
+        int i = from;
+        int known = -1;
+        boolean inside = false;
+        while (known < 0 && i < limit) {
+            byte b = data.get(i);
+            if (b == quote) {
+                int run = i;
+                while (run > 0 && data.get(run - 1) == quote) {
+                    run--;
+                }
+                while (i < limit && data.get(i) == quote) {
+                    i++;
+                }
+                quotes = true;
+                if (!commentLine && i < limit) {
+                    // the parity of a run touching the start of the data is unknown
+                    if (run > 0 && !isDelimiter(data.get(run - 1))) {
+                        inside = (i - run) % 2 == 0;
+                        known = i;
+                    } else if (!isDelimiter(data.get(i))) {
+                        inside = true;
+                        known = i;
+                    }
+                }
+            } else {
+                i++;
+                if (b == '\n' || b == '\r') {
+                    commentLine = startsWithComment(data, i);
+                }
+            }
+        }
+        if (known < 0) {
+            if (quotes) {
+                return -1;
+            }
+            known = from;
+        }
+        for (i = known; i < limit; i++) {
+            byte b = data.get(i);
+            if (b == quote) {
+                inside = !inside;
+            } else if (!inside && (b == '\n' || b == '\r')) {
+                int next = i + 1;
+                if (b == '\r') {
+                    if (next == limit) {
+                        return -1;
+                    }
+                    if (data.get(next) == '\n') {
+                        next++;
+                    }
+                }
+                return next;
+            }
+        }
+        return -1;
+    }
+
+    private boolean isDelimiter(byte b) {
+        return b == separator || b == '\n' || b == '\r';
+    }
+
+    private boolean startsWithComment(ByteBuffer data, int start) {
+        if (commentStart.length == 0 || data.limit() - start < commentStart.length) {
+            return false;
+        }
+        for (int i = 0; i < commentStart.length; i++) {
+            if (data.get(start + i) != commentStart[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,76 @@
+package diergo.csv;
+
+/**
+ * A flyweight row referencing the characters of a record and the offsets of its cells. A cell is materialised on
+ * each access only, quoted cells are unescaped then.
+ * <p>
+ * An instance can be reused for the next record by {@linkplain #reset(char[], int, int[], int) resetting} it,
+ * so the row is valid until the next record is read only.
+ *
+ * @see RecordScanner#toRow(char[], int, RecordCells)
+ */
+class RecordCells extends ScannedCells {
+
+    private final char quote;
+    private final boolean streaming;
+    private char[] buffer;
+
+    /**
+     * Creates an empty row.
+     *
+     * @param streaming whether line breaks in quoted cells are normalised to a line feed
+     */
+    RecordCells(char quote, boolean streaming) {
+        this.quote = quote;
+        this.streaming = streaming;
+    }
+
+    /**
+     * Points this row to another record.
+     *
+     * @param bounds pairs of cell start and end relative to {@code start}, only the first {@code length} are used
+     */
+    RecordCells reset(char[] buffer, int start, int[] bounds, int length) {
+        this.buffer = buffer;
+        reset(start, bounds, length);
+        return this;
+    }
+
+    @Override
+    char charAt(int position) {
+        return buffer[position];
+    }
+
+    @Override
+    char quote() {
+        return quote;
+    }
+
+    @Override
+    String decode(int from, int to) {
+        return new String(buffer, from, to - from);
+    }
+
+    @Override
+    String unescape(int from, int to) {
+        char[] unescaped = new char[to - from];
+        int length = 0;
+        for (int i = from; i < to; i++) {
+            char c = buffer[i];
+            if (c == quote) {
+                if (i + 1 < to && buffer[i + 1] == quote) {
+                    unescaped[length++] = c;
+                    i++;
+                }
+            } else if (c == '\r' && streaming) {
+                unescaped[length++] = '\n';
+                if (i + 1 < to && buffer[i + 1] == '\n') {
+                    i++;
+                }
+            } else {
+                unescaped[length++] = c;
+            }
+        }
+        return new String(unescaped, 0, length);
+    }
+}
@@ -0,0 +1,49 @@
+package diergo.csv;
+
+/**
+ * The limits of a single record bounding the memory needed to parse it. Records exceeding a limit are erroneous.
+ *
+ * @see CsvParserBuilder#limitingRecordLength(int)
+ * @see CsvParserBuilder#limitingCells(int)
+ * @see CsvParserBuilder#limitingLines(int)
+ */
+final class RecordLimits {
+
+    static final RecordLimits NONE = new RecordLimits(Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE);
+
+    /**
+     * The maximal length in characters or bytes excluding the line break ending the record.
+     */
+    final int maxLength;
+    final int maxCells;
+
+    /**
+     * The maximal number of physical lines of a record with line breaks in quoted cells.
+     */
+    final int maxLines;
+
+    private RecordLimits(int maxLength, int maxCells, int maxLines) {
+        this.maxLength = maxLength;
+        this.maxCells = maxCells;
+        this.maxLines = maxLines;
+    }
+
+    RecordLimits withLength(int maxLength) {
+        return new RecordLimits(positive(maxLength), maxCells, maxLines);
+    }
+
+    RecordLimits withCells(int maxCells) {
+        return new RecordLimits(maxLength, positive(maxCells), maxLines);
+    }
+
+    RecordLimits withLines(int maxLines) {
+        return new RecordLimits(maxLength, maxCells, positive(maxLines));
+    }
+
+    private static int positive(int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be positive: " + limit);
+        }
+        return limit;
+    }
+}
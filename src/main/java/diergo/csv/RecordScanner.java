@@ -0,0 +1,553 @@
+package diergo.csv;
+
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * The state machine splitting a record into cells. The record is scanned in place within a character window,
+ * the cells are stored as offsets relative to the record start and materialised by the row on access only.
+ * <p>
+ * A scanner can be used for a single line (the end of the window ends the record) or for a stream of
+ * characters (line breaks outside of quotes end the record). Streamed records may be scanned in multiple
+ * steps as the window is filled, the state of an incomplete record is kept until {@link #reset()}.
+ * <p>
+ * Streamed records can also be scanned as bytes, if the charset encodes the separator, quote and line breaks as
+ * single bytes not used within other characters. Then only the cells accessed are decoded.
+ *
+ * @see RecordBoundaries#isAsciiCompatible(Charset)
+ */
+class RecordScanner {
+
+    /**
+     * The result of a scan if the record is not complete and more input is needed.
+     */
+    static final int INCOMPLETE = -1;
+
+    /**
+     * The result of a scan if the record is erroneous, the error is {@linkplain #error(int, long) created on demand}.
+     */
+    static final int ERROR = -2;
+
+    private static final int RECORD_START = 0;
+    private static final int CELLS = 1;
+    private static final int COMMENT = 2;
+
+    final char quote;
+    final String commentStart;
+    final boolean laxMode;
+    final boolean streaming;
+    final Charset charset;
+    private final byte[] encodedCommentStart;
+    private final ByteScanner bytes = ByteScanner.best();
+    char separator;
+    private int maxLength = Integer.MAX_VALUE;
+    private int maxCells = Integer.MAX_VALUE;
+    private int maxLines = Integer.MAX_VALUE;
+
+    private int state;
+    private int scanned;
+    private int cellStart;
+    private boolean quoted;
+    private boolean isQuote;
+    private boolean blank;
+    private int lineBreaks;
+    private int cellCount;
+    private int[] cellBounds = new int[32];
+    private int[] selectedBounds = new int[0];
+    private boolean selected;
+    private CsvParseException.Kind error;
+    private int errorColumn;
+
+    RecordScanner(char separator, char quote, String commentStart, boolean laxMode, boolean streaming) {
+        this(separator, quote, commentStart, laxMode, streaming, null);
+    }
+
+    /**
+     * Creates a scanner for streamed bytes encoded with the charset.
+     */
+    RecordScanner(char separator, char quote, String commentStart, boolean laxMode, Charset charset) {
+        this(separator, quote, commentStart, laxMode, true, charset);
+    }
+
+    private RecordScanner(char separator, char quote, String commentStart, boolean laxMode, boolean streaming, Charset charset) {
+        this.separator = separator;
+        this.quote = quote;
+        this.commentStart = commentStart;
+        this.laxMode = laxMode;
+        this.streaming = streaming;
+        this.charset = charset;
+        this.encodedCommentStart = commentStart == null || charset == null ? null : commentStart.getBytes(charset);
+        reset();
+    }
+
+    /**
+     * Limits the records scanned, a record exceeding a limit is an error. The position scanned is not beyond the
+     * line break reaching the maximal lines, the cell reaching the maximal cells or the window exceeding the maximal
+     * length.
+     */
+    void limit(RecordLimits limits) {
+        maxLength = limits.maxLength;
+        maxCells = limits.maxCells;
+        maxLines = limits.maxLines;
+    }
+
+    /**
+     * Prepares the scanner for the next record.
+     */
+    void reset() {
+        state = RECORD_START;
+        scanned = 0;
+        cellStart = 0;
+        quoted = false;
+        isQuote = false;
+        blank = true;
+        lineBreaks = 0;
+        cellCount = 0;
+        selected = false;
+    }
+
+    /**
+     * Scans the record starting at {@code start} up to {@code limit}, continuing a former incomplete scan.
+     *
+     * @param endOfInput whether there will be no more characters after {@code limit}, used for streaming only
+     * @return the end of the record relative to its start (excluding any line break), {@link #INCOMPLETE} or
+     * {@link #ERROR} for invalid quoting or exceeded limits, then the position reached is available as
+     * {@link #scanned()}
+     */
+    int scan(char[] buffer, int start, int limit, boolean endOfInput) {
+        int i = start + scanned;
+        if (state == RECORD_START) {
+            if (commentStart == null) {
+                state = CELLS;
+            } else if (limit - start < commentStart.length() && streaming && !endOfInput) {
+                return INCOMPLETE;
+            } else {
+                state = startsWith(buffer, start, limit, commentStart) ? COMMENT : CELLS;
+            }
+        }
+        int until = scanLimit(start, limit);
+        if (state == COMMENT) {
+            blank = false;
+            if (streaming) {
+                for (; i < until; i++) {
+                    char c = buffer[i];
+                    if (c == '\n' || c == '\r') {
+                        return recordEnd(i - start);
+                    }
+                }
+                if (until < limit || !endOfInput) {
+                    return incomplete(until - start);
+                }
+            }
+            return recordEnd(limit - start);
+        }
+        for (; i < until; i++) {
+            char c = buffer[i];
+            if (c > ' ') {
+                blank = false;
+            }
+            if (c == separator && (!quoted || isQuote)) {
+                if (cellCount + 1 >= maxCells) {
+                    scanned = i - start;
+                    return fail(CsvParseException.Kind.TOO_MANY_CELLS, scanned);
+                }
+                addCell(i - start);
+                cellStart = i + 1 - start;
+                quoted = false;
+                isQuote = false;
+            } else if (c == quote) {
+                if (isQuote) {
+                    isQuote = false;
+                } else if (quoted) {
+                    isQuote = true;
+                } else if (i - start == cellStart) {
+                    quoted = true;
+                } else if (!laxMode) {
+                    scanned = i - start;
+                    return fail(CsvParseException.Kind.UNQUOTED_QUOTE, scanned);
+                }
+            } else if (c == '\n' || c == '\r') {
+                if (streaming && (!quoted || isQuote)) {
+                    addCell(i - start);
+                    return recordEnd(i - start);
+                }
+                if (c == '\r' || i == start || buffer[i - 1] != '\r') {
+                    if (lineBreaks + 1 >= maxLines) {
+                        scanned = i - start;
+                        return fail(CsvParseException.Kind.TOO_MANY_LINES, scanned);
+                    }
+                    lineBreaks++;
+                }
+                isQuote = false;
+            } else {
+                isQuote = false;
+            }
+        }
+        if (until < limit || (streaming && !endOfInput)) {
+            return incomplete(until - start);
+        }
+        scanned = limit - start;
+        if (quoted && !isQuote) {
+            if (streaming) {
+                return fail(CsvParseException.Kind.UNCLOSED_QUOTE, scanned);
+            }
+            return incomplete(scanned);
+        }
+        addCell(scanned);
+        return recordEnd(scanned);
+    }
+
+    /**
+     * Scans the streamed record of bytes starting at {@code start} up to {@code limit}, continuing a former
+     * incomplete scan. Cell content is skipped using the {@link ByteScanner}.
+     *
+     * @see #scan(char[], int, int, boolean)
+     */
+    int scan(byte[] buffer, int start, int limit, boolean endOfInput) {
+        int i = start + scanned;
+        if (state == RECORD_START) {
+            if (encodedCommentStart == null) {
+                state = CELLS;
+            } else if (limit - start < encodedCommentStart.length && !endOfInput) {
+                return INCOMPLETE;
+            } else {
+                state = startsWith(buffer, start, limit, encodedCommentStart) ? COMMENT : CELLS;
+            }
+        }
+        int until = scanLimit(start, limit);
+        if (state == COMMENT) {
+            blank = false;
+            for (; i < until; i++) {
+                byte b = buffer[i];
+                if (b == '\n' || b == '\r') {
+                    return recordEnd(i - start);
+                }
+            }
+            if (until < limit || !endOfInput) {
+                return incomplete(until - start);
+            }
+            return recordEnd(limit - start);
+        }
+        byte separator = (byte) this.separator;
+        byte quote = (byte) this.quote;
+        for (; i < until; i++) {
+            int next = bytes.next(buffer, i, until, separator, quote);
+            if (next > i) {
+                isQuote = false;
+                blank = blank && isBlank(buffer, i, next);
+                i = next;
+                if (i == until) {
+                    break;
+                }
+            }
+            byte b = buffer[i];
+            if ((b & 0xff) > ' ') {
+                blank = false;
+            }
+            if (b == separator && (!quoted || isQuote)) {
+                if (cellCount + 1 >= maxCells) {
+                    scanned = i - start;
+                    return fail(CsvParseException.Kind.TOO_MANY_CELLS, scanned);
+                }
+                addCell(i - start);
+                cellStart = i + 1 - start;
+                quoted = false;
+                isQuote = false;
+            } else if (b == quote) {
+                if (isQuote) {
+                    isQuote = false;
+                } else if (quoted) {
+                    isQuote = true;
+                } else if (i - start == cellStart) {
+                    quoted = true;
+                } else if (!laxMode) {
+                    scanned = i - start;
+                    return fail(CsvParseException.Kind.UNQUOTED_QUOTE, scanned);
+                }
+            } else if (b == '\n' || b == '\r') {
+                if (!quoted || isQuote) {
+                    addCell(i - start);
+                    return recordEnd(i - start);
+                }
+                if (b == '\r' || buffer[i - 1] != '\r') {
+                    if (lineBreaks + 1 >= maxLines) {
+                        scanned = i - start;
+                        return fail(CsvParseException.Kind.TOO_MANY_LINES, scanned);
+                    }
+                    lineBreaks++;
+                }
+            } else {
+                isQuote = false;
+            }
+        }
+        if (until < limit || !endOfInput) {
+            return incomplete(until - start);
+        }
+        scanned = limit - start;
+        if (quoted && !isQuote) {
+            return fail(CsvParseException.Kind.UNCLOSED_QUOTE, scanned);
+        }
+        addCell(scanned);
+        return recordEnd(scanned);
+    }
+
+    /**
+     * Marks the record scanned as erroneous because of malformed input at the position relative to the record start.
+     *
+     * @return {@link #ERROR}
+     */
+    int malformed(int column) {
+        return fail(CsvParseException.Kind.MALFORMED_INPUT, column);
+    }
+
+    /**
+     * Creates the error of the last scan resulting in {@link #ERROR}.
+     *
+     * @param lineNo the line number the record starts at
+     * @param start  the offset of the record start within the input
+     */
+    CsvParseException error(int lineNo, long start) {
+        int limit = error == CsvParseException.Kind.RECORD_TOO_LONG ? maxLength
+                : error == CsvParseException.Kind.TOO_MANY_CELLS ? maxCells : maxLines;
+        return new CsvParseException(error, quote, charset == null ? null : charset.name(), limit, lineNo,
+                errorColumn, start + errorColumn);
+    }
+
+    /**
+     * The position reached by the last scan relative to the record start.
+     */
+    int scanned() {
+        return scanned;
+    }
+
+    /**
+     * The number of line breaks within quoted cells of the record scanned.
+     */
+    int lineBreaks() {
+        return lineBreaks;
+    }
+
+    /**
+     * The length of the longest cell of the record scanned.
+     */
+    int longestCell() {
+        int longest = 0;
+        for (int i = 0; i < cellCount; i++) {
+            longest = Math.max(longest, cellBounds[2 * i + 1] - cellBounds[2 * i]);
+        }
+        return longest;
+    }
+
+    /**
+     * Whether the record scanned contains white space only.
+     */
+    boolean isBlank() {
+        return blank;
+    }
+
+    /**
+     * Whether the record scanned is a comment.
+     */
+    boolean isComment() {
+        return state == COMMENT;
+    }
+
+    /**
+     * Reduces the cells of the record scanned to the columns selected, in the order of selection.
+     * Columns not contained in the record are empty.
+     */
+    void select(int[] columns) {
+        if (selectedBounds.length < 2 * columns.length) {
+            selectedBounds = new int[2 * columns.length];
+        }
+        for (int i = 0; i < columns.length; i++) {
+            int column = columns[i];
+            boolean contained = column < cellCount;
+            selectedBounds[2 * i] = contained ? cellBounds[2 * column] : 0;
+            selectedBounds[2 * i + 1] = contained ? cellBounds[2 * column + 1] : 0;
+        }
+        int[] all = cellBounds;
+        cellBounds = selectedBounds;
+        selectedBounds = all;
+        cellCount = columns.length;
+        selected = true;
+    }
+
+    /**
+     * Creates the row of the record scanned. In streaming mode the characters of the record are copied (of the
+     * selected cells only), in line mode the row takes over the characters and the state of the scanner.
+     */
+    Row toRow(char[] buffer, int start) {
+        if (streaming || isComment()) {
+            return copyRow(buffer, start);
+        }
+        return new RecordCells(quote, false).reset(buffer, start, cellBounds, cellCount);
+    }
+
+    /**
+     * Creates the row of the record scanned copying the characters (of the selected cells only), so the buffer
+     * and the scanner can be reused in line mode, too.
+     */
+    Row copyRow(char[] buffer, int start) {
+        if (isComment()) {
+            return toRow(buffer, start, null);
+        }
+        if (selected) {
+            char[] cells = new char[selectedLength()];
+            return new RecordCells(quote, true).reset(cells, 0, copySelected(buffer, start, cells), cellCount);
+        }
+        return new RecordCells(quote, true).reset(Arrays.copyOfRange(buffer, start, start + scanned), 0,
+                Arrays.copyOf(cellBounds, 2 * cellCount), cellCount);
+    }
+
+    /**
+     * Creates the row of the record scanned reusing the row given. The row references the characters of the
+     * window and the state of the scanner, so it is valid until the next record is scanned only.
+     */
+    Row toRow(char[] buffer, int start, RecordCells reused) {
+        if (isComment()) {
+            int offset = start + commentStart.length();
+            return new Comment(new String(buffer, offset, start + scanned - offset));
+        }
+        return view(buffer, start, reused);
+    }
+
+    /**
+     * Points the row given to the cells of the record scanned, which must not be a comment.
+     *
+     * @see #toRow(char[], int, RecordCells)
+     */
+    RecordCells view(char[] buffer, int start, RecordCells view) {
+        return view.reset(buffer, start, cellBounds, cellCount);
+    }
+
+    /**
+     * Creates the row of the record of bytes scanned. The cells are decoded on access.
+     */
+    Row toRow(byte[] buffer, int start) {
+        if (isComment()) {
+            return toRow(buffer, start, null);
+        }
+        if (selected) {
+            byte[] cells = new byte[selectedLength()];
+            return new EncodedCells((byte) quote, charset).reset(cells, 0, copySelected(buffer, start, cells), cellCount);
+        }
+        return new EncodedCells((byte) quote, charset).reset(Arrays.copyOfRange(buffer, start, start + scanned), 0,
+                Arrays.copyOf(cellBounds, 2 * cellCount), cellCount);
+    }
+
+    /**
+     * Creates the row of the record of bytes scanned reusing the row given.
+     *
+     * @see #toRow(char[], int, RecordCells)
+     */
+    Row toRow(byte[] buffer, int start, EncodedCells reused) {
+        if (isComment()) {
+            int offset = start + encodedCommentStart.length;
+            return new Comment(new String(buffer, offset, start + scanned - offset, charset));
+        }
+        return view(buffer, start, reused);
+    }
+
+    /**
+     * Points the row given to the cells of the record of bytes scanned, which must not be a comment.
+     *
+     * @see #toRow(byte[], int, EncodedCells)
+     */
+    EncodedCells view(byte[] buffer, int start, EncodedCells view) {
+        return view.reset(buffer, start, cellBounds, cellCount);
+    }
+
+    private int selectedLength() {
+        int length = 0;
+        for (int i = 0; i < cellCount; i++) {
+            length += cellBounds[2 * i + 1] - cellBounds[2 * i];
+        }
+        return length;
+    }
+
+    /**
+     * Copies the selected cells of the record to the target array of the same type as the window.
+     *
+     * @return the bounds of the cells within the target
+     */
+    private int[] copySelected(Object buffer, int start, Object target) {
+        int[] bounds = new int[2 * cellCount];
+        int position = 0;
+        for (int i = 0; i < cellCount; i++) {
+            int length = cellBounds[2 * i + 1] - cellBounds[2 * i];
+            System.arraycopy(buffer, start + cellBounds[2 * i], target, position, length);
+            bounds[2 * i] = position;
+            position += length;
+            bounds[2 * i + 1] = position;
+        }
+        return bounds;
+    }
+
+    private int fail(CsvParseException.Kind kind, int column) {
+        error = kind;
+        errorColumn = column;
+        return ERROR;
+    }
+
+    /**
+     * The end of the window to be scanned, a record longer than the maximal length is not scanned beyond the
+     * character exceeding it.
+     */
+    private int scanLimit(int start, int limit) {
+        return limit - start > maxLength ? start + maxLength + 1 : limit;
+    }
+
+    private int incomplete(int scanned) {
+        this.scanned = scanned;
+        return scanned > maxLength ? fail(CsvParseException.Kind.RECORD_TOO_LONG, maxLength) : INCOMPLETE;
+    }
+
+    private int recordEnd(int end) {
+        scanned = end;
+        return end > maxLength ? fail(CsvParseException.Kind.RECORD_TOO_LONG, maxLength) : end;
+    }
+
+    private void addCell(int end) {
+        if (2 * cellCount + 2 > cellBounds.length) {
+            cellBounds = Arrays.copyOf(cellBounds, Math.max(2 * cellBounds.length, 2 * cellCount + 2));
+        }
+        cellBounds[2 * cellCount] = cellStart;
+        cellBounds[2 * cellCount + 1] = end;
+        cellCount++;
+    }
+
+    private static boolean isBlank(byte[] buffer, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if ((buffer[i] & 0xff) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean startsWith(byte[] buffer, int start, int limit, byte[] prefix) {
+        if (limit - start < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (buffer[start + i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean startsWith(char[] buffer, int start, int limit, String prefix) {
+        int length = prefix.length();
+        if (limit - start < length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (buffer[start + i] != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
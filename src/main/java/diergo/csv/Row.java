@@ -1,5 +1,6 @@
 package diergo.csv;
 
+import java.util.Iterator;
 import java.util.Spliterator;
 import java.util.Spliterators;
 
@@ -7,7 +8,8 @@ import static java.util.Spliterator.ORDERED;
 import static java.util.Spliterator.SIZED;
 
 /**
- * The internal representation of a CSV data row. The cells can be iterated.
+ * The internal representation of a CSV data row. The cells can be iterated or accessed by index.
+ * Parsed rows implement the indexed and typed access without creating strings for cells not read.
  * Rows are created by a {@linkplain CsvParserBuilder#build() parser} from lines and
  * converted to lines by a {@linkplain CsvPrinterBuilder#build() printer}.
  */
@@ -30,6 +32,81 @@ public interface Row extends Iterable<String> {
      */
     int getLength();
 
+    /**
+     * The cell at the index. The default implementation iterates the cells.
+     *
+     * @throws IndexOutOfBoundsException if the index is not within the {@linkplain #getLength() length}
+     * @since 3.3.0
+     */
+    default String get(int index) {
+        if (index < 0 || index >= getLength()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + getLength());
+        }
+        Iterator<String> cells = iterator();
+        for (int i = 0; i < index; i++) {
+            cells.next();
+        }
+        return cells.next();
+    }
+
+    /**
+     * Is the cell at the index empty or {@code null}?
+     *
+     * @since 3.3.0
+     */
+    default boolean isEmpty(int index) {
+        String cell = get(index);
+        return cell == null || cell.isEmpty();
+    }
+
+    /**
+     * Does the cell at the index contain the characters of the content?
+     *
+     * @see String#contentEquals(CharSequence)
+     * @since 3.3.0
+     */
+    default boolean contentEquals(int index, CharSequence content) {
+        String cell = get(index);
+        return cell != null && cell.contentEquals(content);
+    }
+
+    /**
+     * The cell at the index parsed as a signed decimal integer.
+     *
+     * @throws NumberFormatException if the cell is no parsable integer
+     * @see Integer#parseInt(String)
+     * @since 3.3.0
+     */
+    default int getInt(int index) {
+        return Integer.parseInt(get(index));
+    }
+
+    /**
+     * The cell at the index parsed as a signed decimal long.
+     *
+     * @throws NumberFormatException if the cell is no parsable long
+     * @see Long#parseLong(String)
+     * @since 3.3.0
+     */
+    default long getLong(int index) {
+        return Long.parseLong(get(index));
+    }
+
+    /**
+     * The cell at the index parsed as a double.
+     *
+     * @throws NumberFormatException if the cell is no parsable double
+     * @see Double#parseDouble(String)
+     * @since 3.3.0
+     */
+    default double getDouble(int index) {
+        String cell = get(index);
+        if (cell == null) {
+            throw new NumberFormatException("null");
+        }
+        return Double.parseDouble(cell);
+    }
+
     @Override
     default Spliterator<String> spliterator() {
         return Spliterators.spliterator(iterator(), getLength(), SIZED | ORDERED);
@@ -0,0 +1,71 @@
+package diergo.csv;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.function.Consumer;
+
+/**
+ * Prints rows to an appendable, each followed by a line separator. A row is printed to a reusable buffer of the
+ * current thread first and passed to the appendable by a single call to be thread safe. A writer gets the characters
+ * of the buffer, other appendables the buffer itself, so no string is created per row. A
+ * {@linkplain Appendables#buffered(java.io.OutputStream, java.nio.charset.Charset) buffered sink} gets the row
+ * printed directly, encoding ASCII characters without an encoder.
+ *
+ * @see RowPrinter#printTo(Row, Appendable)
+ */
+class RowAppender implements Consumer<Row> {
+
+    private final RowPrinter printer;
+    private final Appendable out;
+    private final String lineSep;
+    private final ThreadLocal<LineBuffer> buffers = ThreadLocal.withInitial(LineBuffer::new);
+
+    RowAppender(RowPrinter printer, Appendable out, String lineSep) {
+        this.printer = printer;
+        this.out = out;
+        this.lineSep = lineSep;
+    }
+
+    @Override
+    public void accept(Row row) {
+        if (out instanceof BufferedSink) {
+            try {
+                ((BufferedSink) out).print(row, printer, lineSep);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return;
+        }
+        LineBuffer buffer = buffers.get();
+        StringBuilder line = buffer.line;
+        line.setLength(0);
+        try {
+            printer.printTo(row, line).append(lineSep);
+            long start = printer.metrics == null ? 0 : System.nanoTime();
+            if (out instanceof Writer) {
+                ((Writer) out).write(buffer.chars(), 0, line.length());
+            } else {
+                out.append(line);
+            }
+            if (printer.metrics != null) {
+                printer.metrics.io(System.nanoTime() - start);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static final class LineBuffer {
+        final StringBuilder line = new StringBuilder(256);
+        private char[] chars = new char[256];
+
+        char[] chars() {
+            if (chars.length < line.length()) {
+                chars = new char[line.capacity()];
+            }
+            line.getChars(0, line.length(), chars, 0);
+            return chars;
+        }
+    }
+}
@@ -5,25 +5,56 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 
 class RowParser implements Function<String, List<Row>> {
 
-    private static final Row EMPTY_LINE = new Cells();
+    static final Row EMPTY_LINE = new Cells();
 
+    final CharSequence separators;
     final Function<String, Character> determiner;
     final char quote;
     final String commentStart;
     final boolean laxMode;
+    final boolean validatingEncoding;
+    final boolean reusingRows;
+    final ColumnSelection selection;
+    final CellFilter filter;
     final BiFunction<String, RuntimeException, List<Row>> errorHandler;
+    final CsvMetrics metrics;
+    final RecordLimits limits;
+    final CsvEvents events;
     private final AtomicReference<String> formerLine = new AtomicReference<>();
     private final AtomicInteger lineNo = new AtomicInteger(0);
+    private final ThreadLocal<LineScanner> lineScanners = ThreadLocal.withInitial(this::lineScanner);
 
     RowParser(CharSequence separators, char quote, String commentStart, boolean laxMode, BiFunction<String, RuntimeException, List<Row>> errorHandler) {
+        this(separators, quote, commentStart, laxMode, false, false, null, null, errorHandler);
+    }
+
+    RowParser(CharSequence separators, char quote, String commentStart, boolean laxMode, boolean validatingEncoding, boolean reusingRows, ColumnSelection selection, CellFilter filter, BiFunction<String, RuntimeException, List<Row>> errorHandler) {
+        this(separators, quote, commentStart, laxMode, validatingEncoding, reusingRows, selection, filter, errorHandler, null, RecordLimits.NONE);
+    }
+
+    RowParser(CharSequence separators, char quote, String commentStart, boolean laxMode, boolean validatingEncoding, boolean reusingRows, ColumnSelection selection, CellFilter filter, BiFunction<String, RuntimeException, List<Row>> errorHandler, CsvMetrics metrics, RecordLimits limits) {
+        this(separators, quote, commentStart, laxMode, validatingEncoding, reusingRows, selection, filter, errorHandler, metrics, limits, null, CsvEvents.current());
+    }
+
+    private RowParser(CharSequence separators, char quote, String commentStart, boolean laxMode, boolean validatingEncoding, boolean reusingRows, ColumnSelection selection, CellFilter filter, BiFunction<String, RuntimeException, List<Row>> errorHandler, CsvMetrics metrics, RecordLimits limits, Function<String, Character> determiner, CsvEvents events) {
         this.errorHandler = errorHandler;
-        this.determiner = separators.length() == 1 ? line -> separators.charAt(0) : new AutoSeparatorDeterminer(separators);
+        this.metrics = metrics;
+        this.limits = limits;
+        this.events = events;
+        this.separators = separators;
+        this.validatingEncoding = validatingEncoding;
+        this.reusingRows = reusingRows;
+        this.selection = selection;
+        this.filter = filter;
+        this.determiner = determiner != null ? determiner
+                : separators.length() == 1 ? line -> separators.charAt(0) : new AutoSeparatorDeterminer(separators);
         this.quote = quote;
         this.commentStart = commentStart;
         this.laxMode = laxMode;
@@ -33,57 +64,138 @@ class RowParser implements Function<String, List<Row>> {
     public List<Row> apply(String line) {
         line = recoverFormerIncompleteLine(line);
         if (isEmpty(line)) {
+            if (metrics != null) {
+                metrics.record(line == null ? 0 : line.length(), 0, 0, true, false);
+            }
             return singletonList(EMPTY_LINE);
         }
+        long start = metrics == null ? 0 : System.nanoTime();
+        RuntimeException failure;
         try {
-            List<Row> rows = parseLine(line, determiner.apply(line), lineNo.getAndIncrement());
-            if (rows.isEmpty()) {
+            char separator = determiner.apply(line);
+            int currentLineNo = lineNo.getAndIncrement();
+            LineScanner lineScanner = lineScanners.get();
+            RecordScanner scanner = lineScanner.scanner;
+            scanner.separator = separator;
+            scanner.reset();
+            char[] chars = lineScanner.chars(line);
+            int end = scanner.scan(chars, 0, line.length(), true);
+            if (end == RecordScanner.INCOMPLETE) {
                 formerLine.compareAndSet(null, line + '\n');
+                return emptyList();
+            }
+            if (end != RecordScanner.ERROR) {
+                return toRows(scanner, chars, line.length());
             }
-            return rows;
+            failure = scanner.error(currentLineNo, 0);
         } catch (RuntimeException error) {
-            return errorHandler.apply(line, error);
-        }
-    }
-
-    private List<Row> parseLine(String line, char separator, int currentLineNo) {
-        if (commentStart != null && line.startsWith(commentStart)) {
-            return singletonList(new Comment(line.substring(commentStart.length())));
-        }
-        StringBuilder cell = new StringBuilder(line.length());
-        List<String> cells = new ArrayList<>();
-        boolean quoted = false;
-        boolean isQuote = false;
-        int length = line.length();
-        for (int i = 0; i < length; i++) {
-            char c = line.charAt(i);
-            if (c == separator && (!quoted || isQuote)) {
-                cells.add(getValue(cell));
-                isQuote = false;
-                quoted = false;
-            } else if (c == quote) {
-                if (isQuote) {
-                    cell.append(c);
-                    isQuote = false;
-                } else if (quoted) {
-                    isQuote = true;
-                } else if (cell.length() == 0) {
-                    quoted = true;
-                } else if (laxMode) {
-                    cell.append(c);
-                } else {
-                    throw new IllegalArgumentException(String.format("columns with quote (%c) need to be quoted: error at position %d:%d", quote, currentLineNo, i));
-                }
-            } else {
-                cell.append(c);
-                isQuote = false;
+            failure = error;
+        } finally {
+            if (metrics != null) {
+                metrics.processing(System.nanoTime() - start);
+            }
+        }
+        return handleError(line, failure);
+    }
+
+    private LineScanner lineScanner() {
+        RecordScanner scanner = new RecordScanner(',', quote, commentStart, laxMode, false);
+        scanner.limit(limits);
+        return new LineScanner(scanner);
+    }
+
+    /**
+     * A parser of the same configuration sharing the separator determined and the column names resolved, used to
+     * read ahead. It records neither metrics nor events and ignores errors, as the records are parsed again.
+     */
+    RowParser readingAhead() {
+        return new RowParser(separators, quote, commentStart, laxMode, validatingEncoding, false, selection, filter,
+                (line, error) -> emptyList(), null, limits, determiner, CsvEvents.none());
+    }
+
+    /**
+     * Passes the erroneous line to the error handler, recording the outcome if metrics are configured or the
+     * event is enabled.
+     */
+    List<Row> handleError(String line, RuntimeException error) {
+        CsvEvents.ErrorHandling event = events.errorHandling(line.length(), error);
+        List<Row> rows;
+        try {
+            rows = errorHandler.apply(line, error);
+        } catch (RuntimeException e) {
+            event.end(0, true);
+            if (metrics != null) {
+                metrics.failed(line.length());
             }
+            throw e;
         }
-        if (quoted && !isQuote) {
+        event.end(rows.size(), false);
+        if (metrics != null) {
+            metrics.error(line.length(), !rows.isEmpty());
+        }
+        return rows;
+    }
+
+    /**
+     * Records the record scanned if metrics are configured.
+     *
+     * @param length the length of the record including the line break
+     * @param row    whether a row is created for the record
+     */
+    void record(RecordScanner scanner, int length, boolean row) {
+        if (metrics != null) {
+            metrics.record(length, scanner.lineBreaks(), scanner.longestCell(), row, scanner.isComment());
+        }
+    }
+
+    /**
+     * Whether the first data row is needed to resolve column names.
+     */
+    boolean needsHeader() {
+        return (selection != null && selection.columns() == null) || (filter != null && filter.needsHeader());
+    }
+
+    /**
+     * Whether the record scanned is kept by the filter, the cells are tested on a view of the record created by
+     * the supplier. Comments and the header row are always kept. The header is the first record of the input, which
+     * may have been resolved ahead by another parser, or the first record seen by this parser while names are
+     * not resolved.
+     *
+     * @param first whether the record is the first record of the input
+     */
+    boolean accepts(RecordScanner scanner, Supplier<? extends ScannedCells> record, boolean first) {
+        if (filter == null || scanner.isComment()) {
+            return true;
+        }
+        if (needsHeader()) {
+            filter.resolve(record.get());
+            return true;
+        }
+        return (first && filter.hasNames()) || filter.test(record.get());
+    }
+
+    /**
+     * Applies the column selection to the record scanned, the header needed to resolve column names
+     * is created by the supplier.
+     */
+    void select(RecordScanner scanner, Supplier<Row> header) {
+        if (selection != null && !scanner.isComment()) {
+            int[] columns = selection.columns();
+            scanner.select(columns == null ? selection.resolve(header.get()) : columns);
+        }
+    }
+
+    /**
+     * Creates the row of the line scanned, if not filtered. The row is copied, as the buffer is reused.
+     */
+    private List<Row> toRows(RecordScanner scanner, char[] chars, int length) {
+        if (!accepts(scanner, () -> scanner.view(chars, 0, new RecordCells(quote, false)), false)) {
+            record(scanner, length, false);
             return emptyList();
         }
-        cells.add(getValue(cell));
-        return singletonList(new Cells(cells));
+        select(scanner, () -> scanner.toRow(chars, 0));
+        record(scanner, length, true);
+        return singletonList(scanner.copyRow(chars, 0));
     }
 
     private String recoverFormerIncompleteLine(String line) {
@@ -91,16 +203,10 @@ class RowParser implements Function<String, List<Row>> {
         return prefix == null ? line : prefix + line;
     }
 
-    private boolean isEmpty(String line) {
+    static boolean isEmpty(String line) {
         return line == null || line.isEmpty() || line.trim().isEmpty();
     }
 
-    private String getValue(StringBuilder value) {
-        String result = value.toString();
-        value.setLength(0);
-        return result;
-    }
-
     private class AutoSeparatorDeterminer implements Function<String, Character> {
         private final CharSequence possibleSeparators;
         private final AtomicInteger separator = new AtomicInteger(-1);
@@ -111,18 +217,32 @@ class RowParser implements Function<String, List<Row>> {
 
         @Override
         public Character apply(String line) {
+            int determined = separator.get();
+            if (determined >= 0) {
+                return (char) determined;
+            }
             return Character.valueOf((char) separator.updateAndGet(
-                    (int before) -> before >= 0 ? before : getBestVotedSeparator(voteForSeparators(line))
+                    (int before) -> before >= 0 ? before : detect(line)
             ));
         }
 
+        private char detect(String line) {
+            CsvEvents.Detection event = CsvEvents.current().detection(possibleSeparators);
+            char detected = getBestVotedSeparator(voteForSeparators(line));
+            event.end(detected);
+            return detected;
+        }
+
         private Map<Character, Integer> voteForSeparators(String line) {
             if (isEmpty(line)) {
                 throw new IllegalStateException("Separator cannot be determined from an empty line");
             }
+            RecordScanner scanner = new RecordScanner(possibleSeparators.charAt(0), quote, commentStart, laxMode, false);
+            char[] chars = line.toCharArray();
             Map<Character, Integer> votes = new LinkedHashMap<>();
-            for (char c : possibleSeparators.toString().toCharArray()) {
-                votes.put(c, countCells(line, c));
+            for (int i = 0; i < possibleSeparators.length(); i++) {
+                char c = possibleSeparators.charAt(i);
+                votes.put(c, countCells(scanner, chars, c));
             }
             return votes;
         }
@@ -134,13 +254,30 @@ class RowParser implements Function<String, List<Row>> {
                     .orElse(possibleSeparators.charAt(0));
         }
 
-        private int countCells(String line, char separator) {
-            try {
-                List<Row> values = RowParser.this.parseLine(line, separator, 0);
-                return values.isEmpty() ? 0 : values.get(0).getLength();
-            } catch (IllegalArgumentException e) {
-                return 0;
+        private int countCells(RecordScanner scanner, char[] chars, char separator) {
+            scanner.separator = separator;
+            scanner.reset();
+            return scanner.scan(chars, 0, chars.length, true) < 0 ? 0 : scanner.toRow(chars, 0).getLength();
+        }
+    }
+
+    /**
+     * The scanner of a thread parsing lines, reusing a buffer for the characters of the line.
+     */
+    private static final class LineScanner {
+        final RecordScanner scanner;
+        private char[] chars = new char[256];
+
+        LineScanner(RecordScanner scanner) {
+            this.scanner = scanner;
+        }
+
+        char[] chars(String line) {
+            if (chars.length < line.length()) {
+                chars = new char[Math.max(line.length(), 2 * chars.length)];
             }
+            line.getChars(0, line.length(), chars, 0);
+            return chars;
         }
     }
 }
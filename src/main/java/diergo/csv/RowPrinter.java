@@ -1,5 +1,7 @@
 package diergo.csv;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.function.Function;
 
 class RowPrinter implements Function<Row, String> {
@@ -7,47 +9,111 @@ class RowPrinter implements Function<Row, String> {
     final char separator;
     final char quote;
     final String commentStart;
-    private final String quoteAsString;
-    private final String quoteReplacement;
+    final CsvMetrics metrics;
 
     RowPrinter(char separator, char quote, String commentStart) {
+        this(separator, quote, commentStart, null);
+    }
+
+    RowPrinter(char separator, char quote, String commentStart, CsvMetrics metrics) {
         this.separator = separator;
         this.quote = quote;
         this.commentStart = commentStart;
-        quoteAsString = String.valueOf(quote);
-        quoteReplacement = new String(new char[]{quote, quote});
+        this.metrics = metrics;
     }
 
     @Override
     public String apply(Row row) {
         StringBuilder line = new StringBuilder();
+        try {
+            printTo(row, line);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return line.toString();
+    }
+
+    /**
+     * Appends the row without line separator. The cells are streamed to the destination with quotes doubled inline,
+     * cells of parsed rows are not materialised unless quoted. The row is recorded if metrics are configured.
+     */
+    <A extends Appendable> A printTo(Row row, A out) throws IOException {
+        if (metrics == null) {
+            return print(row, out);
+        }
+        long start = System.nanoTime();
+        print(row, out);
+        metrics.processing(System.nanoTime() - start);
+        record(row);
+        return out;
+    }
+
+    /**
+     * Records the row by the length of its cells unquoted, printing quotes and line separators are not counted.
+     */
+    private void record(Row row) {
+        boolean comment = commentStart != null && row.isComment();
+        int length = comment ? commentStart.length() : Math.max(row.getLength() - 1, 0);
+        int longest = 0;
+        int lineBreaks = 0;
+        for (int i = 0; i < row.getLength(); i++) {
+            CharSequence cell = row instanceof ScannedCells ? ((ScannedCells) row).sequence(i) : row.get(i);
+            int cellLength = cell == null ? 0 : cell.length();
+            for (int j = 0; j < cellLength; j++) {
+                char c = cell.charAt(j);
+                lineBreaks += c == '\n' || (c == '\r' && (j + 1 == cellLength || cell.charAt(j + 1) != '\n')) ? 1 : 0;
+            }
+            length += cellLength;
+            longest = Math.max(longest, cellLength);
+        }
+        metrics.record(length, lineBreaks, longest, true, comment);
+    }
+
+    private <A extends Appendable> A print(Row row, A out) throws IOException {
         if (commentStart != null && row.isComment()) {
-            line.append(commentStart);
-            line.append(row.iterator().next());
+            out.append(commentStart);
+            out.append(row.iterator().next());
+        } else if (row instanceof ScannedCells) {
+            ScannedCells cells = (ScannedCells) row;
+            for (int i = 0; i < cells.getLength(); i++) {
+                if (i > 0) {
+                    out.append(separator);
+                }
+                printValue(cells.sequence(i), out);
+            }
         } else {
             boolean first = true;
             for (String cell : row) {
                 if (!first) {
-                    line.append(separator);
+                    out.append(separator);
                 }
                 if (cell != null) {
-                    line.append(printValue(cell));
+                    printValue(cell, out);
                 }
                 first = false;
             }
         }
-        return line.toString();
+        return out;
     }
 
-    private String printValue(String value) {
-        boolean containsQuote = value.indexOf(quote) != -1;
-        boolean needsQuote = containsQuote || value.indexOf(separator) != -1 || (value.indexOf('\n') != -1 || value.indexOf('\r') != -1);
-        if (needsQuote) {
-            if (containsQuote) {
-                value = value.replace(quoteAsString, quoteReplacement);
+    private void printValue(CharSequence value, Appendable out) throws IOException {
+        boolean needsQuote = false;
+        for (int i = 0; i < value.length() && !needsQuote; i++) {
+            char c = value.charAt(i);
+            needsQuote = c == quote || c == separator || c == '\n' || c == '\r';
+        }
+        if (!needsQuote) {
+            out.append(value);
+            return;
+        }
+        out.append(quote);
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) == quote) {
+                out.append(value, start, i + 1).append(quote);
+                start = i + 1;
             }
-            return new StringBuilder(value.length() + 2).append(this.quote).append(value).append(this.quote).toString();
         }
-        return value;
+        out.append(value, start, value.length()).append(quote);
     }
 }
@@ -0,0 +1,79 @@
+package diergo.csv;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+
+/**
+ * Reads rows from a reader using a reusable character window. Multi-line records are handled by the
+ * {@link RecordScanner} directly, so no intermediate strings are created for the lines.
+ * If the parser is reusing rows, a single row instance references the window.
+ */
+class RowSpliterator extends AbstractRowSpliterator {
+
+    private final Reader in;
+    private final RecordCells reused;
+    private final RecordCells view;
+    private char[] buffer;
+
+    RowSpliterator(Reader in, RowParser parser) {
+        this(in, parser, BUFFER_SIZE);
+    }
+
+    RowSpliterator(Reader in, RowParser parser, int bufferSize) {
+        super(parser, new RecordScanner(',', parser.quote, parser.commentStart, parser.laxMode, true));
+        this.in = in;
+        this.buffer = new char[bufferSize];
+        this.reused = parser.reusingRows ? new RecordCells(parser.quote, true) : null;
+        this.view = reused == null ? new RecordCells(parser.quote, true) : reused;
+    }
+
+    @Override
+    int scan() {
+        return scanner.scan(buffer, position, limit, endOfInput);
+    }
+
+    @Override
+    Row toRow() {
+        return reused == null ? scanner.toRow(buffer, position) : scanner.toRow(buffer, position, reused);
+    }
+
+    @Override
+    ScannedCells view() {
+        return scanner.view(buffer, position, view);
+    }
+
+    @Override
+    char charAt(int index) {
+        return buffer[index];
+    }
+
+    @Override
+    String text(int from, int to) {
+        return new String(buffer, from, to - from);
+    }
+
+    @Override
+    void fill() {
+        if (position > 0) {
+            System.arraycopy(buffer, position, buffer, 0, limit - position);
+            limit -= position;
+            position = 0;
+        }
+        if (limit == buffer.length) {
+            char[] larger = new char[2 * buffer.length];
+            System.arraycopy(buffer, 0, larger, 0, limit);
+            buffer = larger;
+        }
+        try {
+            int read = in.read(buffer, limit, buffer.length - limit);
+            if (read < 0) {
+                endOfInput = true;
+            } else {
+                limit += read;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package diergo.csv;
+
+/**
+ * The base of flyweight rows referencing a window of scanned input and the offsets of the cells within.
+ * Cells are materialised on access by {@link #get(int)} only. The checks and the numeric conversions work on
+ * the window directly for unquoted cells, falling back to the materialised cell for anything not trivial.
+ *
+ * @see RecordScanner
+ */
+abstract class ScannedCells extends AbstractCells {
+
+    private static final long NO_VALUE = Long.MIN_VALUE;
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private final Window window = new Window();
+    private int start;
+    private int[] bounds = new int[0];
+    private int length;
+
+    /**
+     * Points this row to another record of the window.
+     *
+     * @param bounds pairs of cell start and end relative to {@code start}, only the first {@code length} are used
+     */
+    final void reset(int start, int[] bounds, int length) {
+        this.start = start;
+        this.bounds = bounds;
+        this.length = length;
+    }
+
+    /**
+     * The character at the position of the window, non ASCII characters may not be decoded.
+     */
+    abstract char charAt(int position);
+
+    /**
+     * Materialises the characters of the window between the positions.
+     */
+    abstract String decode(int from, int to);
+
+    /**
+     * Materialises the characters of the window between the positions, unescaping quotes and line breaks.
+     */
+    abstract String unescape(int from, int to);
+
+    /**
+     * The quote of quoted cells.
+     */
+    abstract char quote();
+
+    @Override
+    public int getLength() {
+        return length;
+    }
+
+    @Override
+    public String get(int index) {
+        int from = from(index);
+        int to = to(index);
+        if (from < to && charAt(from) == quote()) {
+            return unescape(from + 1, to);
+        }
+        return decode(from, to);
+    }
+
+    /**
+     * The cell at the index as character sequence. For unquoted cells this is a view of the window valid until the
+     * next call only, otherwise the cell is materialised.
+     */
+    CharSequence sequence(int index) {
+        int from = from(index);
+        int to = to(index);
+        if (from < to && charAt(from) == quote()) {
+            return get(index);
+        }
+        window.from = from;
+        window.to = to;
+        return window;
+    }
+
+    @Override
+    public boolean isEmpty(int index) {
+        int from = from(index);
+        int to = to(index);
+        return from == to || (to - from == 2 && charAt(from) == quote());
+    }
+
+    @Override
+    public boolean contentEquals(int index, CharSequence content) {
+        int from = from(index);
+        int to = to(index);
+        if (from < to && charAt(from) == quote()) {
+            return get(index).contentEquals(content);
+        }
+        if (to - from != content.length()) {
+            return false;
+        }
+        for (int i = from; i < to; i++) {
+            if (charAt(i) != content.charAt(i - from)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int getInt(int index) {
+        long value = parseDigits(from(index), to(index), 9);
+        return value == NO_VALUE ? Integer.parseInt(get(index)) : (int) value;
+    }
+
+    @Override
+    public long getLong(int index) {
+        long value = parseDigits(from(index), to(index), 18);
+        return value == NO_VALUE ? Long.parseLong(get(index)) : value;
+    }
+
+    @Override
+    public double getDouble(int index) {
+        int from = from(index);
+        int to = to(index);
+        int i = from;
+        boolean negative = i < to && charAt(i) == '-';
+        if (negative || (i < to && charAt(i) == '+')) {
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int fraction = -1;
+        for (; i < to; i++) {
+            char c = charAt(i);
+            if (c >= '0' && c <= '9') {
+                mantissa = 10 * mantissa + (c - '0');
+                digits++;
+                if (fraction >= 0) {
+                    fraction++;
+                }
+            } else if (c == '.' && fraction < 0) {
+                fraction = 0;
+            } else {
+                return Double.parseDouble(get(index));
+            }
+        }
+        // exact as long as mantissa and power of ten are exact doubles
+        if (digits == 0 || digits > 15 || fraction >= POWERS_OF_TEN.length) {
+            return Double.parseDouble(get(index));
+        }
+        double value = fraction > 0 ? mantissa / POWERS_OF_TEN[fraction] : mantissa;
+        return negative ? -value : value;
+    }
+
+    private long parseDigits(int from, int to, int maxDigits) {
+        int i = from;
+        boolean negative = i < to && charAt(i) == '-';
+        if (negative || (i < to && charAt(i) == '+')) {
+            i++;
+        }
+        if (i == to || to - i > maxDigits) {
+            return NO_VALUE;
+        }
+        long value = 0;
+        for (; i < to; i++) {
+            char c = charAt(i);
+            if (c < '0' || c > '9') {
+                return NO_VALUE;
+            }
+            value = 10 * value + (c - '0');
+        }
+        return negative ? -value : value;
+    }
+
+    private int from(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + length);
+        }
+        return start + bounds[2 * index];
+    }
+
+    private int to(int index) {
+        return start + bounds[2 * index + 1];
+    }
+
+    private final class Window implements CharSequence {
+
+        private int from;
+        private int to;
+
+        @Override
+        public int length() {
+            return to - from;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index < 0 || index >= length()) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Length: " + length());
+            }
+            return ScannedCells.this.charAt(from + index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return toString().subSequence(start, end);
+        }
+
+        @Override
+        public String toString() {
+            return decode(from, to);
+        }
+    }
+}
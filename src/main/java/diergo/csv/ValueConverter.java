@@ -0,0 +1,215 @@
+package diergo.csv;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A converter of the cells of a column to one type, selected once for the column. Numeric converters read the
+ * cells using the typed access of the row, so parsed rows do not create strings for them. The primitive access
+ * is supported for numeric types which can be widened to the primitive type.
+ *
+ * @see ValueParserBuilder
+ * @see Values#parsedValue(Map)
+ */
+abstract class ValueConverter {
+
+    static final ValueConverter STRING = new ValueConverter(String.class) {
+        @Override
+        Object parse(String value) {
+            return value;
+        }
+    };
+
+    private static final Map<Class<?>, ValueConverter> CONVERTERS;
+
+    static {
+        Map<Class<?>, ValueConverter> converters = new HashMap<>();
+        converters.put(String.class, STRING);
+        converters.put(Boolean.class, parsing(Boolean.class, Boolean::parseBoolean));
+        converters.put(Float.class, parsing(Float.class, Float::parseFloat));
+        converters.put(BigDecimal.class, parsing(BigDecimal.class, BigDecimal::new));
+        converters.put(BigInteger.class, parsing(BigInteger.class, BigInteger::new));
+        converters.put(Integer.class, new IntConverter(Integer.class));
+        converters.put(int.class, new IntConverter(int.class));
+        converters.put(Long.class, new LongConverter(Long.class));
+        converters.put(long.class, new LongConverter(long.class));
+        converters.put(Double.class, new DoubleConverter(Double.class));
+        converters.put(double.class, new DoubleConverter(double.class));
+        CONVERTERS = converters;
+    }
+
+    final Class<?> type;
+
+    private ValueConverter(Class<?> type) {
+        this.type = type;
+    }
+
+    /**
+     * The converter for the type. Unsupported types get a converter failing on conversion.
+     */
+    static ValueConverter of(Class<?> type) {
+        if (type.isEnum()) {
+            return new EnumConverter(type);
+        }
+        ValueConverter converter = CONVERTERS.get(type);
+        return converter == null ? new UnsupportedConverter(type) : converter;
+    }
+
+    /**
+     * Converts a value.
+     *
+     * @throws IllegalArgumentException if the value cannot be converted
+     */
+    abstract Object parse(String value);
+
+    /**
+     * Converts the cell at the index.
+     */
+    Object get(Row row, int index) {
+        return parse(row.get(index));
+    }
+
+    int getInt(Row row, int index) {
+        throw notConvertible(int.class);
+    }
+
+    long getLong(Row row, int index) {
+        throw notConvertible(long.class);
+    }
+
+    double getDouble(Row row, int index) {
+        throw notConvertible(double.class);
+    }
+
+    private IllegalStateException notConvertible(Class<?> target) {
+        return new IllegalStateException("value type " + type.getName() + " cannot be converted to " + target);
+    }
+
+    private static ValueConverter parsing(Class<?> type, Function<String, Object> parser) {
+        return new ValueConverter(type) {
+            @Override
+            Object parse(String value) {
+                return parser.apply(value);
+            }
+        };
+    }
+
+    private static final class IntConverter extends ValueConverter {
+
+        IntConverter(Class<?> type) {
+            super(type);
+        }
+
+        @Override
+        Object parse(String value) {
+            return Integer.parseInt(value);
+        }
+
+        @Override
+        Object get(Row row, int index) {
+            return row.getInt(index);
+        }
+
+        @Override
+        int getInt(Row row, int index) {
+            return row.getInt(index);
+        }
+
+        @Override
+        long getLong(Row row, int index) {
+            return row.getInt(index);
+        }
+
+        @Override
+        double getDouble(Row row, int index) {
+            return row.getInt(index);
+        }
+    }
+
+    private static final class LongConverter extends ValueConverter {
+
+        LongConverter(Class<?> type) {
+            super(type);
+        }
+
+        @Override
+        Object parse(String value) {
+            return Long.parseLong(value);
+        }
+
+        @Override
+        Object get(Row row, int index) {
+            return row.getLong(index);
+        }
+
+        @Override
+        long getLong(Row row, int index) {
+            return row.getLong(index);
+        }
+
+        @Override
+        double getDouble(Row row, int index) {
+            return row.getLong(index);
+        }
+    }
+
+    private static final class DoubleConverter extends ValueConverter {
+
+        DoubleConverter(Class<?> type) {
+            super(type);
+        }
+
+        @Override
+        Object parse(String value) {
+            return Double.parseDouble(value);
+        }
+
+        @Override
+        Object get(Row row, int index) {
+            return row.getDouble(index);
+        }
+
+        @Override
+        double getDouble(Row row, int index) {
+            return row.getDouble(index);
+        }
+    }
+
+    /**
+     * Looks up the constants by name in a table created once instead of {@link Enum#valueOf(Class, String)}.
+     */
+    private static final class EnumConverter extends ValueConverter {
+        private final Map<String, Object> constants = new HashMap<>();
+
+        EnumConverter(Class<?> type) {
+            super(type);
+            for (Object constant : type.getEnumConstants()) {
+                constants.put(((Enum<?>) constant).name(), constant);
+            }
+        }
+
+        @Override
+        Object parse(String value) {
+            Object constant = constants.get(value);
+            if (constant == null) {
+                throw new IllegalArgumentException("No enum constant " + type.getCanonicalName() + "." + value);
+            }
+            return constant;
+        }
+    }
+
+    private static final class UnsupportedConverter extends ValueConverter {
+
+        UnsupportedConverter(Class<?> type) {
+            super(type);
+        }
+
+        @Override
+        Object parse(String value) {
+            throw new IllegalArgumentException("unsupported value type: " + type);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package diergo.csv;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.StreamSupport.stream;
+
+/**
+ * A parser of typed values using a converter per column. As a mapper it converts rows to data maps of typed
+ * values like {@link Maps#toMaps()} followed by {@link Values#parsedValue(Map)}. The cells of a row can be
+ * converted by index too, the primitive variants do not box numbers and parsed rows do not create strings for
+ * them.
+ *
+ * @see ValueParserBuilder#build()
+ * @since 3.3.0
+ */
+public final class ValueParser implements Function<Row, List<Map<String, Object>>> {
+
+    private final Map<String, Class<?>> types;
+    private final AtomicReference<Plan> plan;
+
+    ValueParser(Map<String, Class<?>> types, List<String> header) {
+        this.types = new LinkedHashMap<>(types);
+        this.plan = new AtomicReference<>(header == null ? null : new Plan(header, this.types));
+    }
+
+    /**
+     * Converts the row to a map of the typed values. The header is used from the first row if not configured.
+     *
+     * @throws IndexOutOfBoundsException if there are more values than columns
+     */
+    @Override
+    public List<Map<String, Object>> apply(Row row) {
+        if (row.isComment()) {
+            return emptyList();
+        }
+        if (plan.get() == null && plan.compareAndSet(null, new Plan(stream(row.spliterator(), false).collect(toList()), types))) {
+            return emptyList();
+        }
+        Plan columns = plan.get();
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (int i = 0; i < row.getLength(); i++) {
+            result.put(columns.names[i], columns.converters[i].get(row, i));
+        }
+        return singletonList(result);
+    }
+
+    /**
+     * The typed value of the cell at the index.
+     *
+     * @throws IllegalArgumentException if the value cannot be converted
+     * @throws IllegalStateException    if the header is not known yet
+     */
+    public Object get(Row row, int index) {
+        return converter(index).get(row, index);
+    }
+
+    /**
+     * The value of the cell at the index of an integer column.
+     *
+     * @throws NumberFormatException if the cell is no parsable integer
+     * @throws IllegalStateException if the column is no integer column or the header is not known yet
+     */
+    public int getInt(Row row, int index) {
+        return converter(index).getInt(row, index);
+    }
+
+    /**
+     * The value of the cell at the index of an integer or long column.
+     *
+     * @throws NumberFormatException if the cell is no parsable long
+     * @throws IllegalStateException if the column is no integer or long column or the header is not known yet
+     */
+    public long getLong(Row row, int index) {
+        return converter(index).getLong(row, index);
+    }
+
+    /**
+     * The value of the cell at the index of an integer, long or double column.
+     *
+     * @throws NumberFormatException if the cell is no parsable double
+     * @throws IllegalStateException if the column is no numeric column or the header is not known yet
+     */
+    public double getDouble(Row row, int index) {
+        return converter(index).getDouble(row, index);
+    }
+
+    private ValueConverter converter(int index) {
+        Plan columns = plan.get();
+        if (columns == null) {
+            throw new IllegalStateException("header not known yet");
+        }
+        return columns.converters[index];
+    }
+
+    /**
+     * The names and the converters of the columns.
+     */
+    private static final class Plan {
+        final String[] names;
+        final ValueConverter[] converters;
+
+        Plan(List<String> header, Map<String, Class<?>> types) {
+            names = header.toArray(new String[0]);
+            converters = new ValueConverter[names.length];
+            for (int i = 0; i < names.length; i++) {
+                Class<?> type = types.get(names[i]);
+                converters[i] = type == null ? ValueConverter.STRING : ValueConverter.of(type);
+            }
+        }
+    }
+}
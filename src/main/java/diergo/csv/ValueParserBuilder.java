@@ -0,0 +1,62 @@
+package diergo.csv;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Configure and build a parser of typed values. The types of the columns are compiled to a converter per column
+ * once the header is known, so converting a row does not look up types or parsers per value. Typically this is
+ * used as a mapper for a stream of rows replacing {@link Maps#toMaps()} and {@link Values#parsedValue(Map)}:
+ * <p>
+ * rows.{@link java.util.stream.Stream#map(Function) map}({@link #valueParser()}.{@link #withTypes(Map) withTypes(...)}.{@link #build()}).{@link java.util.stream.Stream#flatMap(Function) flatMap(List::stream)}
+ * <p>
+ * The supported types are: {@link Integer}, {@link Long}, {@link Double}, {@link Float}, {@link java.math.BigDecimal},
+ * {@link java.math.BigInteger}, {@link Boolean}, {@link String}, enums and the primitive types {@code int}, {@code long}
+ * and {@code double}. Columns without a type are strings.
+ *
+ * @see ValueParser
+ * @since 3.3.0
+ */
+public class ValueParserBuilder {
+
+    public static ValueParserBuilder valueParser() {
+        return new ValueParserBuilder();
+    }
+
+    private final Map<String, Class<?>> types = new LinkedHashMap<>();
+
+    private ValueParserBuilder() {
+    }
+
+    /**
+     * Configures the type of the column with the name.
+     */
+    public ValueParserBuilder withType(String name, Class<?> type) {
+        types.put(name, type);
+        return this;
+    }
+
+    /**
+     * Configures the types of the columns by name.
+     */
+    public ValueParserBuilder withTypes(Map<String, Class<?>> types) {
+        this.types.putAll(types);
+        return this;
+    }
+
+    /**
+     * Creates a new configured parser using the columns names from the first row.
+     */
+    public ValueParser build() {
+        return new ValueParser(types, null);
+    }
+
+    /**
+     * Creates a new configured parser using the columns names in header.
+     */
+    public ValueParser build(List<String> header) {
+        return new ValueParser(types, header);
+    }
+}
@@ -0,0 +1,203 @@
+package diergo.csv;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Emits the events as JDK Flight Recorder events of the category CSV. An event is created only if it is enabled,
+ * fields needing strings are only set if the event is committed. Chunks of parsed records check once per chunk
+ * whether the event is enabled and are committed every {@value #CHUNK_RECORDS} records.
+ */
+final class FlightRecorderEvents extends CsvEvents {
+
+    static final int CHUNK_RECORDS = 1 << 14;
+
+    @Override
+    Chunk parseChunk() {
+        return new ParseChunk();
+    }
+
+    @Override
+    Detection detection(CharSequence candidates) {
+        SeparatorDetectionEvent event = new SeparatorDetectionEvent();
+        if (!event.isEnabled()) {
+            return Detection.NONE;
+        }
+        event.begin();
+        return new Detection() {
+            @Override
+            void end(char separator) {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.candidates = candidates.toString();
+                    event.separator = separator;
+                    event.commit();
+                }
+            }
+        };
+    }
+
+    @Override
+    ErrorHandling errorHandling(int length, RuntimeException error) {
+        ErrorHandlerEvent event = new ErrorHandlerEvent();
+        if (!event.isEnabled()) {
+            return ErrorHandling.NONE;
+        }
+        event.begin();
+        return new ErrorHandling() {
+            @Override
+            void end(int rows, boolean failed) {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.length = length;
+                    event.errorType = error.getClass().getName();
+                    event.message = error.getMessage();
+                    event.rows = rows;
+                    event.failed = failed;
+                    event.commit();
+                }
+            }
+        };
+    }
+
+    @Override
+    Write write(int length) {
+        WriteEvent event = new WriteEvent();
+        if (!event.isEnabled()) {
+            return Write.NONE;
+        }
+        event.begin();
+        return new Write() {
+            @Override
+            void end() {
+                event.bytes = length;
+                event.commit();
+            }
+        };
+    }
+
+    private static final class ParseChunk extends Chunk {
+        private ParseChunkEvent event;
+        private int records;
+
+        @Override
+        void record(int length, boolean row) {
+            ParseChunkEvent current = current();
+            if (current != null) {
+                current.records++;
+                current.rows += row ? 1 : 0;
+                current.length += length;
+            }
+            counted();
+        }
+
+        @Override
+        void error(int length) {
+            ParseChunkEvent current = current();
+            if (current != null) {
+                current.errors++;
+                current.length += length;
+            }
+            counted();
+        }
+
+        @Override
+        void end() {
+            if (event != null) {
+                event.commit();
+                event = null;
+            }
+            records = 0;
+        }
+
+        private ParseChunkEvent current() {
+            if (records == 0) {
+                ParseChunkEvent started = new ParseChunkEvent();
+                if (started.isEnabled()) {
+                    started.begin();
+                    event = started;
+                }
+            }
+            return event;
+        }
+
+        private void counted() {
+            if (++records == CHUNK_RECORDS) {
+                end();
+            }
+        }
+    }
+
+    @Name("diergo.csv.ParseChunk")
+    @Label("CSV Parse Chunk")
+    @Category("CSV")
+    @Description("Records parsed by one parser, committed in chunks and at the end of input")
+    @StackTrace(false)
+    static final class ParseChunkEvent extends Event {
+        @Label("Records")
+        @Description("Records parsed including comments, empty lines and filtered records")
+        long records;
+
+        @Label("Rows")
+        long rows;
+
+        @Label("Length")
+        @Description("Length of all records in bytes or characters, the units of the input")
+        long length;
+
+        @Label("Errors")
+        @Description("Erroneous records passed to the error handler")
+        long errors;
+    }
+
+    @Name("diergo.csv.SeparatorDetection")
+    @Label("CSV Separator Detection")
+    @Category("CSV")
+    @StackTrace(false)
+    static final class SeparatorDetectionEvent extends Event {
+        @Label("Candidates")
+        String candidates;
+
+        @Label("Separator")
+        char separator;
+    }
+
+    @Name("diergo.csv.ErrorHandler")
+    @Label("CSV Error Handler")
+    @Category("CSV")
+    @Description("Invocation of the error handler for an erroneous record")
+    static final class ErrorHandlerEvent extends Event {
+        @Label("Length")
+        int length;
+
+        @Label("Error Type")
+        String errorType;
+
+        @Label("Message")
+        String message;
+
+        @Label("Rows")
+        @Description("Rows returned by the error handler")
+        int rows;
+
+        @Label("Failed")
+        @Description("Whether the error handler threw an exception")
+        boolean failed;
+    }
+
+    @Name("diergo.csv.Write")
+    @Label("CSV Write")
+    @Category("CSV")
+    @Description("Block of bytes written by a buffered sink")
+    @StackTrace(false)
+    static final class WriteEvent extends Event {
+        @Label("Bytes")
+        @DataAmount
+        long bytes;
+    }
+}
@@ -0,0 +1,47 @@
+package diergo.csv;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+
+/**
+ * Finds structural bytes 8 at a time by reading long words of the array (SIMD within a register). Each byte
+ * equal to a searched one becomes a zero byte after xor with the broadcast pattern, zero bytes are found by the
+ * classic {@code (x - 0x01..) & ~x & 0x80..} test. Borrows can only mark bytes after a real match, so the lowest
+ * marked byte is the first match.
+ */
+final class SwarByteScanner extends ByteScanner {
+
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, LITTLE_ENDIAN);
+    private static final long ONES = 0x0101010101010101L;
+    private static final long HIGH_BITS = 0x8080808080808080L;
+    private static final long LINE_FEEDS = ONES * '\n';
+    private static final long CARRIAGE_RETURNS = ONES * '\r';
+
+    @Override
+    int next(byte[] data, int from, int to, byte separator, byte quote) {
+        long separators = ONES * (separator & 0xff);
+        long quotes = ONES * (quote & 0xff);
+        int i = from;
+        for (; i + Long.BYTES <= to; i += Long.BYTES) {
+            long word = (long) LONGS.get(data, i);
+            long found = zeros(word ^ separators) | zeros(word ^ quotes)
+                    | zeros(word ^ LINE_FEEDS) | zeros(word ^ CARRIAGE_RETURNS);
+            if (found != 0) {
+                return i + (Long.numberOfTrailingZeros(found) >>> 3);
+            }
+        }
+        for (; i < to; i++) {
+            byte b = data[i];
+            if (b == separator || b == quote || b == '\n' || b == '\r') {
+                return i;
+            }
+        }
+        return to;
+    }
+
+    private static long zeros(long word) {
+        return (word - ONES) & ~word & HIGH_BITS;
+    }
+}
@@ -3,13 +3,22 @@ package diergo.csv;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.io.StringWriter;
 import java.io.UncheckedIOException;
 import java.io.Writer;
+import java.nio.channels.Channels;
+import java.time.Duration;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
 
 import static diergo.csv.Appendables.*;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.is;
@@ -68,4 +77,36 @@ class AppendablesTest {
 
         assertThrows(UncheckedIOException.class, () -> consumeTo(out).accept("line"));
     }
+
+    @Test
+    void bufferedOutputStreamCollectsLines() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (Writer out = Stream.of("grüße", "two").collect(toAppendable(buffered(bytes, UTF_8)))) {
+            assertThat(bytes.size(), is(0));
+        }
+
+        assertThat(bytes.toString(UTF_8.name()), is("grüße\r\ntwo\r\n"));
+    }
+
+    @Test
+    void bufferedChannelCollectsLines() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (Writer out = buffered(Channels.newChannel(bytes), UTF_8, 4, Duration.ofHours(1))) {
+            Stream.of("one", "two").collect(toAppendable(out, '\n'));
+        }
+
+        assertThat(bytes.toString(UTF_8.name()), is("one\ntwo\n"));
+    }
+
+    @Test
+    void gzippedStreamIsCompressed() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (Writer out = buffered(gzipped(bytes), UTF_8)) {
+            Stream.of("one", "two").collect(toAppendable(out, '\n'));
+        }
+
+        try (Reader in = new InputStreamReader(new GZIPInputStream(new ByteArrayInputStream(bytes.toByteArray())), UTF_8)) {
+            assertThat(Readers.asLines(in).collect(Collectors.joining("|")), is("one|two"));
+        }
+    }
 }
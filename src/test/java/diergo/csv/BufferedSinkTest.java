@@ -0,0 +1,231 @@
+package diergo.csv;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.charset.StandardCharsets.UTF_16BE;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BufferedSinkTest {
+
+    private final BlockStream out = new BlockStream();
+
+    @Test
+    void nothingIsWrittenBeforeBufferIsFull() throws IOException {
+        try (BufferedSink sink = new BufferedSink(out, UTF_8, 16, Long.MAX_VALUE)) {
+            sink.write("abc,def\n");
+
+            assertThat(out.size(), is(0));
+            assertThat(out.flushes(), is(0));
+        }
+        assertThat(out.toString(UTF_8.name()), is("abc,def\n"));
+        assertThat(out.closed, is(true));
+    }
+
+    @Test
+    void fullBufferIsWrittenInBlocks() throws IOException {
+        StringBuilder data = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            data.append("grüße 😀,").append(i).append('\n');
+        }
+        try (BufferedSink sink = new BufferedSink(out, UTF_8, 16, Long.MAX_VALUE)) {
+            sink.append(data);
+        }
+
+        assertThat(out.toString(UTF_8.name()), is(data.toString()));
+        assertThat(out.blocks, everyItem(is(lessThanOrEqualTo(16))));
+        assertThat(out.blocks.size(), is(lessThanOrEqualTo(1 + data.toString().getBytes(UTF_8).length / 12)));
+    }
+
+    @Test
+    void surrogatePairsSpanningBuffersAreEncoded() throws IOException {
+        try (BufferedSink sink = new BufferedSink(out, UTF_8, 4, Long.MAX_VALUE)) {
+            sink.write("abc😀d😀".toCharArray());
+            sink.write('e');
+        }
+
+        assertThat(out.toString(UTF_8.name()), is("abc😀d😀e"));
+    }
+
+    @Test
+    void pendingDataIsWrittenAfterMaxDelay() throws IOException {
+        try (BufferedSink sink = new BufferedSink(out, UTF_8, 1024, 0)) {
+            sink.append("a,b\n");
+
+            assertThat(out.toString(UTF_8.name()), is("a,b\n"));
+            assertThat(out.flushes(), is(1));
+        }
+    }
+
+    @Test
+    void pendingDataOfIdleSinkIsWrittenByTimer() throws IOException, InterruptedException {
+        try (BufferedSink sink = new BufferedSink(out, UTF_8, 1024, TimeUnit.MILLISECONDS.toNanos(10))) {
+            sink.append("a,b\n");
+            assertThat(out.size(), is(0));
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (out.flushes() == 0 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            assertThat(out.toString(UTF_8.name()), is("a,b\n"));
+            assertThat(out.flushes(), is(1));
+        }
+    }
+
+    @Test
+    void failureOfTimedFlushIsThrownByNextCall() throws IOException, InterruptedException {
+        IOException failure = new IOException("test");
+        CountDownLatch failed = new CountDownLatch(1);
+        OutputStream broken = new OutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void flush() throws IOException {
+                failed.countDown();
+                throw failure;
+            }
+        };
+        BufferedSink sink = new BufferedSink(broken, UTF_8, 1024, TimeUnit.MILLISECONDS.toNanos(1));
+        sink.write('a');
+
+        assertThat(failed.await(5, TimeUnit.SECONDS), is(true));
+        IOException error = assertThrows(IOException.class, () -> sink.write('b'));
+        assertThat(error, sameInstance(failure));
+        sink.close();
+    }
+
+    @Test
+    void asciiRunsAreCopiedInBlocks() throws IOException {
+        StringBuilder data = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            data.append("abc,").append(i).append(i % 7 == 0 ? "ä\n" : "\n");
+        }
+        try (BufferedSink sink = new BufferedSink(out, UTF_8, 16, BufferedSink.UNBOUNDED)) {
+            sink.append(data);
+            sink.write(data.toString().toCharArray());
+        }
+
+        assertThat(out.toString(UTF_8.name()), is(data.toString() + data));
+        assertThat(out.blocks, everyItem(is(lessThanOrEqualTo(16))));
+    }
+
+    @Test
+    void flushWritesPendingData() throws IOException {
+        try (BufferedSink sink = new BufferedSink(out, UTF_8, 1024, Long.MAX_VALUE)) {
+            sink.append(CharBuffer.wrap("xa,b\ny"), 1, 5).append(null);
+            sink.flush();
+
+            assertThat(out.toString(UTF_8.name()), is("a,b\nnull"));
+            assertThat(out.flushes(), is(1));
+        }
+    }
+
+    @Test
+    void unmappableCharactersAreReplaced() throws IOException {
+        try (BufferedSink sink = new BufferedSink(out, US_ASCII, 1024, Long.MAX_VALUE)) {
+            sink.write("a€b", 1, 2);
+        }
+
+        assertThat(out.toString(US_ASCII.name()), is("?b"));
+    }
+
+    @Test
+    void channelGetsAllBytes() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        WritableByteChannel channel = Channels.newChannel(bytes);
+        try (BufferedSink sink = new BufferedSink(channel, UTF_8, 3, Long.MAX_VALUE)) {
+            sink.write("ä,b\nc,ö\n");
+        }
+
+        assertThat(bytes.toString(UTF_8.name()), is("ä,b\nc,ö\n"));
+        assertThat(channel.isOpen(), is(false));
+    }
+
+    @Test
+    void closedSinkCannotBeWritten() throws IOException {
+        BufferedSink sink = new BufferedSink(out, UTF_8, 16, Long.MAX_VALUE);
+        sink.close();
+        sink.close();
+
+        assertThrows(IOException.class, () -> sink.write('a'));
+        assertThrows(IOException.class, sink::flush);
+    }
+
+    @Test
+    void asciiIsStoredDirectlyBetweenEncodedCharacters() throws IOException {
+        try (BufferedSink sink = new BufferedSink(out, UTF_8, 4, Long.MAX_VALUE)) {
+            sink.write("ab€c😀".toCharArray(), 1, 5);
+            sink.write("\ud83d");
+            sink.write("x€");
+        }
+
+        assertThat(out.toString(UTF_8.name()), is("b€c😀?x€"));
+    }
+
+    @Test
+    void nonAsciiCharsetsAreEncoded() throws IOException {
+        try (BufferedSink sink = new BufferedSink(out, UTF_16BE, 4, Long.MAX_VALUE)) {
+            sink.write("ab€c😀".toCharArray(), 1, 5);
+            sink.append(new StringBuilder("de"));
+        }
+
+        assertThat(out.toString(UTF_16BE.name()), is("b€c😀de"));
+    }
+
+    @Test
+    void rowsArePrintedIntoBuffer() throws IOException {
+        RowPrinter printer = new RowPrinter(',', '"', "#");
+        try (BufferedSink sink = new BufferedSink(out, ISO_8859_1, 4, Long.MAX_VALUE)) {
+            sink.print(new Cells("ä", "b\"c"), printer, "\r\n");
+            sink.print(new Comment("d"), printer, "\r\n");
+        }
+
+        assertThat(out.toString(ISO_8859_1.name()), is("ä,\"b\"\"c\"\r\n#d\r\n"));
+    }
+
+    private static final class BlockStream extends ByteArrayOutputStream {
+        final List<Integer> blocks = new ArrayList<>();
+        private int flushed;
+        boolean closed;
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) {
+            blocks.add(len);
+            super.write(b, off, len);
+        }
+
+        @Override
+        public synchronized void flush() {
+            flushed++;
+        }
+
+        synchronized int flushes() {
+            return flushed;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package diergo.csv;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.ArgumentCaptor;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.charset.StandardCharsets.UTF_16;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.StreamSupport.stream;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ByteRowSpliteratorTest {
+
+    private BiFunction<String, RuntimeException, List<Row>> errorHandler;
+
+    @Test
+    void emptyInputHasNoRows() {
+        assertThat(parse(""), empty());
+    }
+
+    @ParameterizedTest(name = "anyLineBreakEndsARow({arguments})")
+    @ValueSource(strings = {"\n", "\r", "\r\n"})
+    void anyLineBreakEndsARow(String lineBreak) {
+        assertThat(parse("a,b" + lineBreak + "c" + lineBreak), is(asList(new Cells("a", "b"), new Cells("c"))));
+    }
+
+    @Test
+    void blankLinesAreEmptyRows() {
+        assertThat(parse("a\n\n \nb"), is(asList(new Cells("a"), new Cells(), new Cells(), new Cells("b"))));
+    }
+
+    @Test
+    void multiByteCharactersAreDecoded() {
+        assertThat(parse("grüße,€\n\"ä,ö\"\"\r\nü\",😀"),
+                is(asList(new Cells("grüße", "€"), new Cells("ä,ö\"\nü", "😀"))));
+    }
+
+    @Test
+    void commentsAreDecoded() {
+        assertThat(parse(",", "§", false, UTF_8, "§grüße,no columns\r\na,b"),
+                is(asList(new Comment("grüße,no columns"), new Cells("a", "b"))));
+    }
+
+    @Test
+    void singleByteCharsetsAreDecoded() {
+        assertThat(parse(",", null, false, ISO_8859_1, "ä,ö"), is(asList(new Cells("ä", "ö"))));
+    }
+
+    @Test
+    void separatorIsDeterminedFromFirstLineWithData() {
+        assertThat(parse(",;", "#", false, UTF_8, "\n#a,b,c\nä;d;e,f\ng;h"),
+                is(asList(new Cells(), new Comment("a,b,c"), new Cells("ä", "d", "e,f"), new Cells("g", "h"))));
+    }
+
+    @Test
+    void malformedInputIsReplacedByDefault() {
+        assertThat(parse(new byte[]{'a', ',', (byte) 0xc3, '\n', 'b'}, false),
+                is(asList(new Cells("a", "�"), new Cells("b"))));
+    }
+
+    @Test
+    void malformedInputDelegatesToErrorHandlerIfValidating() {
+        when(errorHandler.apply(anyString(), any(IllegalArgumentException.class)))
+                .thenReturn(emptyList());
+        assertThat(parse(new byte[]{'a', '\n', 'b', ',', (byte) 0xc3, '\n', 'c'}, true),
+                is(asList(new Cells("a"), new Cells("c"))));
+
+        ArgumentCaptor<RuntimeException> error = ArgumentCaptor.forClass(RuntimeException.class);
+        verify(errorHandler).apply(anyString(), error.capture());
+        assertThat(error.getValue().getMessage(), containsString("UTF-8: error at position 1:2"));
+        assertThat(((CsvParseException) error.getValue()).getKind(), is(CsvParseException.Kind.MALFORMED_INPUT));
+        assertThat(((CsvParseException) error.getValue()).getOffset(), is(4L));
+    }
+
+    @Test
+    void malformedInputOfOtherCharsetsIsLocated() {
+        when(errorHandler.apply(anyString(), any(IllegalArgumentException.class)))
+                .thenReturn(emptyList());
+        byte[] data = {'a', '\n', 'b', ',', 'c', ',', (byte) 0x80, '\n', 'd', '\n', 'e', (byte) 0x81, '\n', 'f'};
+        assertThat(parse(",", null, true, US_ASCII, data), is(asList(new Cells("a"), new Cells("d"), new Cells("f"))));
+
+        ArgumentCaptor<CsvParseException> error = ArgumentCaptor.forClass(CsvParseException.class);
+        verify(errorHandler, times(2)).apply(anyString(), error.capture());
+        assertThat(error.getAllValues().get(0).getMessage(), containsString("US-ASCII: error at position 1:4"));
+        assertThat(error.getAllValues().get(0).getOffset(), is(6L));
+        assertThat(error.getAllValues().get(1).getMessage(), containsString("US-ASCII: error at position 3:1"));
+        assertThat(error.getAllValues().get(1).getOffset(), is(11L));
+    }
+
+    @Test
+    void illegalLineDelegatesToErrorHandler() {
+        Comment handled = new Comment("error");
+        when(errorHandler.apply(anyString(), any(IllegalArgumentException.class)))
+                .thenReturn(asList(handled, handled));
+        assertThat(parse("a\n\"ä\r\nc\",d\"e\r\nf"), is(asList(new Cells("a"), handled, handled, new Cells("f"))));
+
+        ArgumentCaptor<String> line = ArgumentCaptor.forClass(String.class);
+        verify(errorHandler).apply(line.capture(), any(IllegalArgumentException.class));
+        assertThat(line.getValue(), is("\"ä\nc\",d\"e"));
+    }
+
+    @Test
+    void wellFormedUtf8IsAccepted() {
+        byte[] data = "aäࠀ￿😀􏿿".getBytes(UTF_8);
+        assertThat(ByteRowSpliterator.findMalformedUtf8(data, 0, data.length), is(-1));
+    }
+
+    @ParameterizedTest(name = "malformedUtf8IsFound({arguments})")
+    @ValueSource(strings = {"80", "c0af", "c3", "e080af", "eda080", "f08f8080", "f4908080", "f5808080", "e282", "c328"})
+    void malformedUtf8IsFound(String hex) {
+        byte[] data = new byte[hex.length() / 2 + 1];
+        data[0] = 'a';
+        for (int i = 1; i < data.length; i++) {
+            data[i] = (byte) Integer.parseInt(hex.substring(2 * i - 2, 2 * i), 16);
+        }
+        assertThat(ByteRowSpliterator.findMalformedUtf8(data, 0, data.length), is(1));
+    }
+
+    @Test
+    void onlyAsciiCompatibleConfigurationsAreApplicable() {
+        assertThat(ByteRowSpliterator.isApplicable(new RowParser(",;", '"', "§", false, errorHandler), UTF_8), is(true));
+        assertThat(ByteRowSpliterator.isApplicable(new RowParser(",", '"', null, false, errorHandler), UTF_16), is(false));
+        assertThat(ByteRowSpliterator.isApplicable(new RowParser(",¦", '"', null, false, errorHandler), UTF_8), is(false));
+        assertThat(ByteRowSpliterator.isApplicable(new RowParser(",", '»', null, false, errorHandler), UTF_8), is(false));
+    }
+
+    @Test
+    void reusedRowReferencesCurrentRecord() {
+        RowParser parser = new RowParser(",", '"', null, false, false, true, null, null, errorHandler);
+        ByteRowSpliterator rows = new ByteRowSpliterator(new ByteArrayInputStream("ä,\"b\nc\"\ne,f".getBytes(UTF_8)), UTF_8, parser, 4);
+        List<Row> seen = new ArrayList<>();
+        List<String> content = new ArrayList<>();
+        rows.forEachRemaining(row -> {
+            seen.add(row);
+            content.add(row.toString());
+        });
+
+        assertThat(content, is(asList("[ä, b\nc]", "[e, f]")));
+        assertThat(seen.get(0) == seen.get(1), is(true));
+    }
+
+    @Test
+    void selectedColumnsAreCopiedOnly() {
+        RowParser parser = new RowParser(",", '"', null, false, false, true, ColumnSelection.byIndex(1), null, errorHandler);
+        ByteRowSpliterator rows = new ByteRowSpliterator(new ByteArrayInputStream("ä,ö,ü\n1,\"2\"\"\"".getBytes(UTF_8)), UTF_8, parser, 4);
+        List<String> content = new ArrayList<>();
+        rows.forEachRemaining(row -> content.add(row.toString()));
+
+        assertThat(content, is(asList("[ö]", "[2\"]")));
+    }
+
+    @Test
+    void filteredRecordsAreSkipped() {
+        CellFilter filter = new CellFilter().and(ColumnSelection.byIndex(0), "ä"::contentEquals);
+        RowParser parser = new RowParser(",", '"', null, false, false, false, null, filter, errorHandler);
+
+        assertThat(stream(new ByteRowSpliterator(new ByteArrayInputStream("a,1\nä,2\n\"ä\",3".getBytes(UTF_8)), UTF_8, parser, 4), false)
+                .collect(toList()), is(asList(new Cells("ä", "2"), new Cells("ä", "3"))));
+    }
+
+    @Test
+    void ioExceptionIsWrappedToUnchecked() throws IOException {
+        InputStream in = mock(InputStream.class);
+        when(in.read(any(byte[].class), any(int.class), any(int.class))).thenThrow(new IOException("test"));
+        ByteRowSpliterator rows = new ByteRowSpliterator(in, UTF_8, new RowParser(",", '"', null, false, errorHandler));
+
+        assertThrows(UncheckedIOException.class, () -> rows.tryAdvance(row -> { }));
+    }
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void createErrorHandler() {
+        errorHandler = mock(BiFunction.class);
+    }
+
+    @Test
+    void recordExceedingLengthIsSkippedToNextLine() {
+        when(errorHandler.apply(anyString(), any(IllegalArgumentException.class))).thenReturn(emptyList());
+        RowParser parser = new RowParser(",", '"', "#", false, false, false, null, null, errorHandler, null, RecordLimits.NONE.withLength(8));
+        byte[] data = "a,b\n#cdefghijklmnop\n\"qrstuvwxyz\nq\nr,s".getBytes(UTF_8);
+
+        assertThat(stream(new ByteRowSpliterator(new ByteArrayInputStream(data), UTF_8, parser, 4), false).collect(toList()),
+                is(asList(new Cells("a", "b"), new Cells("q"), new Cells("r", "s"))));
+        verify(errorHandler).apply(eq("#cdefghi"), any(CsvParseException.class));
+        verify(errorHandler).apply(eq("\"qrstuvw"), any(CsvParseException.class));
+    }
+
+    private List<Row> parse(String data) {
+        return parse(",", null, false, UTF_8, data);
+    }
+
+    private List<Row> parse(CharSequence separators, String commentStart, boolean validating, Charset charset, String data) {
+        return parse(separators, commentStart, validating, charset, data.getBytes(charset));
+    }
+
+    private List<Row> parse(byte[] data, boolean validating) {
+        return parse(",", null, validating, UTF_8, data);
+    }
+
+    private List<Row> parse(CharSequence separators, String commentStart, boolean validating, Charset charset, byte[] data) {
+        RowParser parser = new RowParser(separators, '"', commentStart, false, validating, false, null, null, errorHandler);
+        return stream(new ByteRowSpliterator(new ByteArrayInputStream(data), charset, parser, 4), false).collect(toList());
+    }
+}
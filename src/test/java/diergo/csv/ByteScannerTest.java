@@ -0,0 +1,62 @@
+package diergo.csv;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.stream.Stream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+class ByteScannerTest {
+
+    static Stream<ByteScanner> scanners() {
+        return Stream.of(ByteScanner.scalar(), ByteScanner.best());
+    }
+
+    @Test
+    void wordScannerIsUsedSinceJava11() {
+        boolean java8 = System.getProperty("java.specification.version").startsWith("1.");
+        assertThat(ByteScanner.best() == ByteScanner.scalar(), is(java8));
+    }
+
+    @Test
+    void unknownScannerFallsBackToScalar() {
+        assertThat(ByteScanner.load("diergo.csv.Unknown"), sameInstance(ByteScanner.scalar()));
+        assertThat(ByteScanner.load("java.lang.Object"), sameInstance(ByteScanner.scalar()));
+    }
+
+    @ParameterizedTest
+    @MethodSource("scanners")
+    void structuralBytesAreFound(ByteScanner scanner) {
+        byte[] data = "abcdefghijklmnopqrst;uvwxyz\"0123456789\r\nabcdefghijklmnopäöü".getBytes(UTF_8);
+
+        assertThat(scanner.next(data, 0, data.length, (byte) ';', (byte) '"'), is(20));
+        assertThat(scanner.next(data, 21, data.length, (byte) ';', (byte) '"'), is(27));
+        assertThat(scanner.next(data, 28, data.length, (byte) ';', (byte) '"'), is(38));
+        assertThat(scanner.next(data, 39, data.length, (byte) ';', (byte) '"'), is(39));
+        assertThat(scanner.next(data, 40, data.length, (byte) ';', (byte) '"'), is(data.length));
+        assertThat(scanner.next(data, 0, 20, (byte) ';', (byte) '"'), is(20));
+    }
+
+    @ParameterizedTest
+    @MethodSource("scanners")
+    void resultsAreEqualToComparingEachByte(ByteScanner scanner) {
+        byte[] data = new byte[4096];
+        for (int i = 0; i < data.length; i++) {
+            int value = (i * 7919) % 263;
+            data[i] = (byte) (value < 4 ? ",\"\r\n".charAt(value) : value);
+        }
+        for (int from = 0; from < 64; from++) {
+            int i = from;
+            while (i < data.length) {
+                int expected = ByteScanner.scalar().next(data, i, data.length, (byte) ',', (byte) '"');
+                assertThat(scanner.next(data, i, data.length, (byte) ',', (byte) '"'), is(expected));
+                i = expected + 1;
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package diergo.csv;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+class CellFilterTest {
+
+    @Test
+    void allConditionsMustBeFulfilled() {
+        CellFilter filter = new CellFilter()
+                .and(ColumnSelection.byIndex(0), "a"::contentEquals)
+                .and(ColumnSelection.byIndex(2), cell -> cell.length() > 1);
+
+        assertThat(filter.test(cells("a,b,cc")), is(true));
+        assertThat(filter.test(cells("a,b,c")), is(false));
+        assertThat(filter.test(cells("b,b,cc")), is(false));
+    }
+
+    @Test
+    void missingCellsAreEmpty() {
+        List<String> tested = new ArrayList<>();
+        CellFilter filter = new CellFilter().and(ColumnSelection.byIndex(3), cell -> tested.add(cell.toString()));
+
+        assertThat(filter.test(cells("a")), is(true));
+        assertThat(tested, is(singleEmpty()));
+    }
+
+    @Test
+    void quotedCellsAreUnescaped() {
+        CellFilter filter = new CellFilter().and(ColumnSelection.byIndex(1), "b\"c"::contentEquals);
+
+        assertThat(filter.test(cells("a,\"b\"\"c\"")), is(true));
+    }
+
+    @Test
+    void namesAreResolvedFromHeaderPerCopy() {
+        CellFilter filter = new CellFilter().and(ColumnSelection.byName("b"), "x"::contentEquals);
+        CellFilter copy = filter.copy();
+
+        assertThat(filter.needsHeader(), is(true));
+        filter.resolve(new Cells("a", "b"));
+        assertThat(filter.needsHeader(), is(false));
+        assertThat(filter.test(cells("x,x")), is(true));
+        assertThat(filter.test(cells("x,y")), is(false));
+        assertThat(copy.needsHeader(), is(true));
+    }
+
+    private static List<String> singleEmpty() {
+        List<String> result = new ArrayList<>();
+        result.add("");
+        return result;
+    }
+
+    private static ScannedCells cells(String line) {
+        RecordScanner scanner = new RecordScanner(',', '"', null, false, false);
+        char[] chars = line.toCharArray();
+        scanner.scan(chars, 0, chars.length, true);
+        return scanner.view(chars, 0, new RecordCells('"', false));
+    }
+}
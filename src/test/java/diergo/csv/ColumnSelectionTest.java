@@ -0,0 +1,39 @@
+package diergo.csv;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ColumnSelectionTest {
+
+    @Test
+    void indicesAreUsedDirectly() {
+        assertThat(ColumnSelection.byIndex(2, 0).columns(), is(new int[]{2, 0}));
+    }
+
+    @Test
+    void negativeIndicesAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> ColumnSelection.byIndex(1, -1));
+    }
+
+    @Test
+    void namesAreResolvedOnceFromHeader() {
+        ColumnSelection selection = ColumnSelection.byName("c", "a");
+
+        assertThat(selection.columns(), nullValue());
+        assertThat(selection.resolve(new Cells("a", "b", "c")), is(new int[]{2, 0}));
+        assertThat(selection.resolve(new Cells("c", "a")), is(new int[]{2, 0}));
+        assertThat(selection.columns(), is(new int[]{2, 0}));
+    }
+
+    @Test
+    void unknownNamesAreRejected() {
+        ColumnSelection selection = ColumnSelection.byName("a", "x");
+
+        assertThrows(IllegalArgumentException.class, () -> selection.resolve(new Cells("a", "b")));
+        assertThat(selection.columns(), nullValue());
+    }
+}
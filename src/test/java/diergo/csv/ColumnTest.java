@@ -0,0 +1,86 @@
+package diergo.csv;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static diergo.csv.Maps.column;
+import static diergo.csv.Maps.toIndexedMaps;
+import static diergo.csv.Maps.toMaps;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonMap;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ColumnTest {
+
+    @Test
+    void columnIsResolvedFromHeaderList() {
+        Column column = column("two", asList("one", "two"));
+        assertThat(column.getIndex(), is(1));
+        assertThat(column.getFrom(new Cells("1", "2")), is("2"));
+        assertThat(column.toString(), is("two@1"));
+    }
+
+    @Test
+    void unknownColumnIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> column("three", asList("one", "two")));
+        assertThrows(IllegalArgumentException.class, () -> column("three").resolve(new Cells("one", "two")));
+    }
+
+    @Test
+    void firstResolutionFromHeaderRowWins() {
+        Column column = column("two");
+        assertThat(column.resolve(new Cells("one", "two")), is(1));
+        assertThat(column.resolve(new Cells("two", "one")), is(1));
+    }
+
+    @Test
+    void unresolvedColumnCannotAccessRows() {
+        assertThrows(IllegalStateException.class, () -> column("one").getFrom(new Cells("1")));
+    }
+
+    @Test
+    void missingCellOfRowIsNull() {
+        assertThat(column("two", asList("one", "two")).getFrom(new Cells("1")), nullValue());
+    }
+
+    @Test
+    void valueIsGotFromMapsByName() {
+        assertThat(column("one").getFrom(singletonMap("one", 1)), is(1));
+    }
+
+    @Test
+    void valueIsGotFromIndexedMapsByIndex() {
+        Column column = column("two");
+        Map<String, String> values = toIndexedMaps(asList("one", "two")).apply(new Cells("1", "2")).get(0);
+        Map<String, String> others = toIndexedMaps(asList("two", "three")).apply(new Cells("b", "c")).get(0);
+        assertThat(column.getFrom(values), is("2"));
+        assertThat(column.getFrom(others), is("b"));
+        values.remove("two");
+        assertThat(column.getFrom(values), nullValue());
+    }
+
+    @Test
+    void lastOfDuplicateNamesIsUsed() {
+        Row header = new Cells("one", "two", "one");
+        Row row = new Cells("1", "2", "3");
+        Column fromRow = column("one");
+        fromRow.resolve(header);
+        Column fromList = column("one", asList("one", "two", "one"));
+
+        assertThat(fromRow.getFrom(row), is("3"));
+        assertThat(fromList.getFrom(row), is("3"));
+        assertThat(fromRow.getFrom(toMaps(asList("one", "two", "one")).apply(row).get(0)), is("3"));
+        assertThat(fromRow.getFrom(toIndexedMaps(asList("one", "two", "one")).apply(row).get(0)), is("3"));
+    }
+
+    @Test
+    void otherValueIsGotFromIndexedMapsByName() {
+        Map<String, String> values = toIndexedMaps(asList("one", "two")).apply(new Cells("1", "2")).get(0);
+        values.put("three", "3");
+        assertThat(column("three").getFrom(values), is("3"));
+    }
+}
@@ -0,0 +1,112 @@
+package diergo.csv;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static diergo.csv.CsvParserBuilder.csvParser;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+class CsvEventsTest {
+
+    @Test
+    void flightRecorderEventsAreUsedSinceJava11() {
+        boolean java8 = System.getProperty("java.specification.version").startsWith("1.");
+        assertThat(CsvEvents.current().getClass() == CsvEvents.class, is(java8));
+    }
+
+    @Test
+    void unknownEventsFallBackToNone() {
+        CsvEvents events = CsvEvents.load("diergo.csv.Unknown");
+
+        assertThat(events.getClass(), sameInstance(CsvEvents.class));
+        assertThat(events.parseChunk(), sameInstance(CsvEvents.Chunk.NONE));
+        assertThat(events.detection(";,"), sameInstance(CsvEvents.Detection.NONE));
+        assertThat(events.errorHandling(1, new IllegalArgumentException()), sameInstance(CsvEvents.ErrorHandling.NONE));
+        assertThat(events.write(1), sameInstance(CsvEvents.Write.NONE));
+    }
+
+    @Test
+    void disabledEventsAreNotCreated() {
+        CsvEvents events = CsvEvents.current();
+
+        assertThat(events.detection(";,"), sameInstance(CsvEvents.Detection.NONE));
+        assertThat(events.errorHandling(1, new IllegalArgumentException()), sameInstance(CsvEvents.ErrorHandling.NONE));
+        assertThat(events.write(1), sameInstance(CsvEvents.Write.NONE));
+    }
+
+    @Test
+    void parsingEmitsEvents(@TempDir Path folder) throws IOException {
+        List<RecordedEvent> events = record(folder, () -> {
+            CsvParserBuilder builder = csvParser().handlingErrors(ErrorHandlers.ignoreErrors());
+            try (Stream<Row> rows = builder.parse(new ByteArrayInputStream("a,b\nc,d\ne\"f,g\n".getBytes(UTF_8)), UTF_8)) {
+                assertThat(rows.count(), is(2L));
+            }
+        });
+
+        List<RecordedEvent> chunks = named(events, "diergo.csv.ParseChunk");
+        assertThat(chunks, hasSize(1));
+        assertThat(chunks.get(0).getLong("records"), is(2L));
+        assertThat(chunks.get(0).getLong("rows"), is(2L));
+        assertThat(chunks.get(0).getLong("errors"), is(1L));
+        assertThat(chunks.get(0).getLong("length"), is(14L));
+        List<RecordedEvent> detections = named(events, "diergo.csv.SeparatorDetection");
+        assertThat(detections, hasSize(1));
+        assertThat(detections.get(0).getChar("separator"), is(','));
+        assertThat(detections.get(0).getString("candidates"), is(CsvParserBuilder.DEFAULT_SEPARATORS));
+        List<RecordedEvent> errors = named(events, "diergo.csv.ErrorHandler");
+        assertThat(errors, hasSize(1));
+        assertThat(errors.get(0).getInt("length"), is(5));
+        assertThat(errors.get(0).getString("errorType"), is(CsvParseException.class.getName()));
+        assertThat(errors.get(0).getBoolean("failed"), is(false));
+    }
+
+    @Test
+    void writingEmitsEvents(@TempDir Path folder) throws IOException {
+        List<RecordedEvent> events = record(folder, () -> {
+            try (Writer out = Appendables.buffered(new ByteArrayOutputStream(), UTF_8)) {
+                out.write("a,b\r\n");
+            }
+        });
+
+        List<RecordedEvent> writes = named(events, "diergo.csv.Write");
+        assertThat(writes, hasSize(1));
+        assertThat(writes.get(0).getLong("bytes"), is(5L));
+    }
+
+    private static List<RecordedEvent> record(Path folder, Action action) throws IOException {
+        Path file = folder.resolve("csv.jfr");
+        try (Recording recording = new Recording()) {
+            Stream.of("ParseChunk", "SeparatorDetection", "ErrorHandler", "Write")
+                    .forEach(name -> recording.enable("diergo.csv." + name));
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file);
+    }
+
+    private static List<RecordedEvent> named(List<RecordedEvent> events, String name) {
+        return events.stream().filter(event -> event.getEventType().getName().equals(name)).collect(toList());
+    }
+
+    private interface Action {
+        void run() throws IOException;
+    }
+}
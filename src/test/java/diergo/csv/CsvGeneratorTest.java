@@ -0,0 +1,83 @@
+package diergo.csv;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static diergo.csv.CsvGenerator.csvGenerator;
+import static diergo.csv.CsvParserBuilder.csvParser;
+import static diergo.csv.ErrorHandlers.loggingErrors;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.not;
+
+class CsvGeneratorTest {
+
+    @Test
+    void sameSeedGeneratesSameData() {
+        assertThat(generate(csvGenerator(42).quoting(0.3)), is(generate(csvGenerator(42).quoting(0.3))));
+        assertThat(generate(csvGenerator(42)), is(not(generate(csvGenerator(43)))));
+    }
+
+    @Test
+    void parallelGenerationIsReproducible() {
+        CsvGenerator generator = csvGenerator(42).embeddingLineBreaks(0.2);
+        assertThat(generator.lines(1000).parallel().collect(toList()), is(generator.lines(1000).collect(toList())));
+    }
+
+    @Test
+    void headerPrecedesRowsOfConfiguredShape() {
+        List<Row> rows = parse(csvGenerator(42).columns(5).cellLengths(2, 4).withHeader().withNumbers()
+                .quoting(0.5).embeddingSeparators(0.5).embeddingLineBreaks(0.5), 100, new AtomicInteger());
+
+        assertThat(rows.size(), is(101));
+        assertThat(rows.get(0).toString(), is("[column0, column1, column2, column3, column4]"));
+        assertThat(rows.stream().map(Row::getLength).collect(toList()), everyItem(is(5)));
+        assertThat(rows.stream().skip(1).map(row -> row.get(2).replaceAll("[,\"\n]", "").length()).collect(toList()),
+                everyItem(is(lessThanOrEqualTo(4))));
+        assertThat(rows.get(1).getInt(0), is(greaterThan(-1)));
+    }
+
+    @Test
+    void lineBreaksAreEmbeddedInCells() {
+        String data = generate(csvGenerator(42).embeddingLineBreaks(1.0));
+
+        assertThat(data.split("\n").length, is(greaterThan(100)));
+        assertThat(parse(csvGenerator(42).embeddingLineBreaks(1.0), 100, new AtomicInteger()).size(), is(100));
+    }
+
+    @Test
+    void commentsAndMalformedLinesReplaceRows() {
+        AtomicInteger errors = new AtomicInteger();
+        List<Row> rows = parse(csvGenerator(42).withComments("#", 0.2).withMalformedLines(0.2), 1000, errors);
+        long comments = rows.stream().filter(Row::isComment).count();
+
+        assertThat(comments, is(greaterThan(100L)));
+        assertThat(errors.get(), is(greaterThan(100)));
+        assertThat(rows.size() + errors.get(), is(1000));
+    }
+
+    @Test
+    void typesAreNamedByColumn() {
+        assertThat(csvGenerator(42).columns(3).withNumbers().types(), hasEntry("column1", Double.class));
+        assertThat(csvGenerator(42).columns(3).types(), hasEntry("column0", String.class));
+    }
+
+    private static String generate(CsvGenerator generator) {
+        return generator.writeTo(new StringBuilder(), 100).toString();
+    }
+
+    private static List<Row> parse(CsvGenerator generator, int count, AtomicInteger errors) {
+        return csvParser().separatedBy(',').commentsStartWith("#")
+                .handlingErrors(loggingErrors((line, error) -> errors.incrementAndGet()))
+                .parse(new StringReader(generator.writeTo(new StringBuilder(), count).toString()))
+                .collect(toList());
+    }
+}
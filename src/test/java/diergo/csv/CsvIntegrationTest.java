@@ -64,6 +64,17 @@ class CsvIntegrationTest {
         ));
     }
 
+    @Test
+    void csvCanBeParsedFromReader() {
+        List<Map<String, String>> rows = csvParser().separatedBy(',').parse(csv)
+                .map(toMaps()).flatMap(Collection::stream)
+                .collect(toList());
+
+        assertThat(rows.size(), is(5));
+        assertThat(rows.get(2).get("Description"), is("MUST SELL!\nair, moon roof, loaded"));
+        assertThat(rows.get(3).get("Model"), is("Venture \"Extended Edition, Very Large\""));
+    }
+
     @Test
     void csvCanBeMappedAndWritten() {
         StringWriter out = Stream.<Map<String, Object>>builder()
@@ -0,0 +1,77 @@
+package diergo.csv;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static diergo.csv.CsvMetrics.csvMetrics;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+class CsvMetricsTest {
+
+    @Test
+    void newMetricsAreZero() {
+        assertThat(csvMetrics().snapshot().toString(), is(CsvMetrics.Snapshot.ZERO.toString()));
+    }
+
+    @Test
+    void recordsAreCounted() {
+        CsvMetrics metrics = csvMetrics();
+        metrics.record(10, 0, 4, true, false);
+        metrics.record(20, 1, 3, true, true);
+        metrics.record(5, 0, 5, false, false);
+        CsvMetrics.Snapshot snapshot = metrics.snapshot();
+
+        assertThat(snapshot.getRecords(), is(3L));
+        assertThat(snapshot.getRows(), is(2L));
+        assertThat(snapshot.getComments(), is(1L));
+        assertThat(snapshot.getMultiLineRecords(), is(1L));
+        assertThat(snapshot.getLength(), is(35L));
+        assertThat(snapshot.getLongestRecord(), is(20L));
+        assertThat(snapshot.getLongestCell(), is(5L));
+    }
+
+    @Test
+    void errorsAreCountedByOutcome() {
+        CsvMetrics metrics = csvMetrics();
+        metrics.error(3, false);
+        metrics.error(4, true);
+        metrics.failed(5);
+        CsvMetrics.Snapshot snapshot = metrics.snapshot();
+
+        assertThat(snapshot.getErrors(), is(3L));
+        assertThat(snapshot.getErrorsSkipped(), is(1L));
+        assertThat(snapshot.getErrorsReplaced(), is(1L));
+        assertThat(snapshot.getErrorsFailed(), is(1L));
+        assertThat(snapshot.getLength(), is(12L));
+        assertThat(snapshot.getRecords(), is(0L));
+    }
+
+    @Test
+    void timesAreSummed() {
+        CsvMetrics metrics = csvMetrics();
+        metrics.io(1000);
+        metrics.io(2000);
+        metrics.processing(500);
+
+        assertThat(metrics.snapshot().getIoTime(), is(Duration.ofNanos(3000)));
+        assertThat(metrics.snapshot().getProcessingTime(), is(Duration.ofNanos(500)));
+    }
+
+    @Test
+    void deltaContainsChangesSinceLastDelta() {
+        CsvMetrics metrics = csvMetrics();
+        metrics.record(10, 0, 4, true, false);
+        assertThat(metrics.delta().getRecords(), is(1L));
+        metrics.record(5, 0, 2, true, false);
+        metrics.record(5, 0, 2, true, false);
+        CsvMetrics.Snapshot delta = metrics.delta();
+
+        assertThat(delta.getRecords(), is(2L));
+        assertThat(delta.getLength(), is(10L));
+        assertThat(delta.getLongestRecord(), is(10L));
+        assertThat(metrics.delta().getRecords(), is(0L));
+        assertThat(metrics.snapshot().getRecords(), is(3L));
+    }
+}
@@ -0,0 +1,64 @@
+package diergo.csv;
+
+import org.junit.jupiter.api.Test;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayWithSize;
+import static org.hamcrest.Matchers.emptyArray;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+class CsvParseExceptionTest {
+
+    @Test
+    void unquotedQuoteIsDescribed() {
+        CsvParseException error = new CsvParseException(CsvParseException.Kind.UNQUOTED_QUOTE, '"', null, 0, 3, 5, 42);
+
+        assertThat(error.getMessage(), is("columns with quote (\") need to be quoted: error at position 3:5"));
+        assertThat(error.getKind(), is(CsvParseException.Kind.UNQUOTED_QUOTE));
+        assertThat(error.getLine(), is(3));
+        assertThat(error.getColumn(), is(5));
+        assertThat(error.getOffset(), is(42L));
+    }
+
+    @Test
+    void unclosedQuoteIsDescribed() {
+        CsvParseException error = new CsvParseException(CsvParseException.Kind.UNCLOSED_QUOTE, '\'', null, 0, 0, 7, 7);
+
+        assertThat(error.getMessage(), is("quoted column (') not closed at end of input: error at position 0:7"));
+    }
+
+    @Test
+    void malformedInputIsDescribed() {
+        CsvParseException error = new CsvParseException(CsvParseException.Kind.MALFORMED_INPUT, '"', UTF_8.name(), 0, 1, 2, 4);
+
+        assertThat(error.getMessage(), is("malformed input for UTF-8: error at position 1:2"));
+    }
+
+    @Test
+    void exceededLimitsAreDescribed() {
+        assertThat(new CsvParseException(CsvParseException.Kind.RECORD_TOO_LONG, '"', null, 100, 1, 100, 120).getMessage(),
+                is("record longer than 100: error at position 1:100"));
+        assertThat(new CsvParseException(CsvParseException.Kind.TOO_MANY_CELLS, '"', null, 3, 1, 5, 25).getMessage(),
+                is("record with more than 3 cells: error at position 1:5"));
+        assertThat(new CsvParseException(CsvParseException.Kind.TOO_MANY_LINES, '"', null, 2, 1, 8, 28).getMessage(),
+                is("record spanning more than 2 lines: error at position 1:8"));
+    }
+
+    @Test
+    void stackTraceIsNotFilledIn() {
+        CsvParseException error = new CsvParseException(CsvParseException.Kind.UNQUOTED_QUOTE, '"', null, 0, 0, 0, 0);
+
+        assertThat(error.getStackTrace(), arrayWithSize(0));
+    }
+
+    @Test
+    void stackTraceIsFilledInOnDemand() {
+        CsvParseException error = new CsvParseException(CsvParseException.Kind.UNQUOTED_QUOTE, '"', null, 0, 0, 0, 0);
+
+        assertThat(error.fillInStackTrace(), sameInstance(error));
+        assertThat(error.getStackTrace(), not(emptyArray()));
+    }
+}
@@ -1,11 +1,27 @@
 package diergo.csv;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 import static diergo.csv.CsvParserBuilder.csvParser;
+import static java.nio.charset.StandardCharsets.UTF_16;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -22,6 +38,10 @@ class CsvParserBuilderTest {
         assertThat(parser.quote, is('"'));
         assertThat(parser.commentStart, nullValue());
         assertThat(parser.laxMode, is(false));
+        assertThat(parser.validatingEncoding, is(false));
+        assertThat(parser.reusingRows, is(false));
+        assertThat(parser.selection, nullValue());
+        assertThat(parser.filter, nullValue());
         try {
             parser.errorHandler.apply("", new RuntimeException());
             fail("parsing error not thrown");
@@ -40,12 +60,143 @@ class CsvParserBuilderTest {
     void allConfigurationsArePassedToParser() {
         @SuppressWarnings("unchecked")
         BiFunction<String, RuntimeException, List<Row>> errorHandler = mock(BiFunction.class);
-        RowParser parser = (RowParser) csvParser().commentsStartWith("#").quotedWith('\'').separatedBy(',').inLaxMode().handlingErrors(errorHandler).build();
+        RowParser parser = (RowParser) csvParser().commentsStartWith("#").quotedWith('\'').separatedBy(',').inLaxMode().validatingEncoding().reusingRows().handlingErrors(errorHandler).build();
 
         assertThat(parser.quote, is('\''));
         assertThat(parser.commentStart, is("#"));
         assertThat(parser.determiner.apply(""), is(','));
         assertThat(parser.laxMode, is(true));
+        assertThat(parser.validatingEncoding, is(true));
+        assertThat(parser.reusingRows, is(true));
         assertThat(parser.errorHandler, is(errorHandler));
     }
+
+    @Test
+    void limitsArePassedToParser() {
+        RowParser parser = (RowParser) csvParser().limitingRecordLength(1000).limitingCells(20).limitingLines(5).build();
+
+        assertThat(parser.limits.maxLength, is(1000));
+        assertThat(parser.limits.maxCells, is(20));
+        assertThat(parser.limits.maxLines, is(5));
+    }
+
+    @Test
+    void recordsAreNotLimitedByDefault() {
+        RowParser parser = (RowParser) csvParser().build();
+
+        assertThat(parser.limits, is(RecordLimits.NONE));
+    }
+
+    @Test
+    void dialectIsPassedToParser() {
+        RowParser parser = (RowParser) csvParser().withDialect(new Dialect(';', '\'', true, "#", "\n")).build();
+
+        assertThat(parser.quote, is('\''));
+        assertThat(parser.commentStart, is("#"));
+        assertThat(parser.separators.toString(), is(";"));
+        assertThat(parser.determiner.apply(""), is(';'));
+    }
+
+    @Test
+    void selectedColumnsArePassedToParser() {
+        assertThat(((RowParser) csvParser().selectingColumns(3, 1).build()).selection.columns(), is(new int[]{3, 1}));
+        assertThat(((RowParser) csvParser().selectingColumns("b").build()).selection.resolve(new Cells("a", "b")), is(new int[]{1}));
+    }
+
+    @Test
+    void parsersDoNotShareResolvedColumnNames() {
+        CsvParserBuilder builder = csvParser().separatedBy(',').selectingColumns("b").filteringOn("a", "1"::contentEquals);
+        try (Stream<Row> first = builder.parse(new StringReader("a,b\n1,2\n3,4"));
+             Stream<Row> second = builder.parse(new StringReader("b,a\n5,1\n6,7"))) {
+            assertThat(first.collect(toList()), is(asList(new Cells("b"), new Cells("2"))));
+            assertThat(second.collect(toList()), is(asList(new Cells("b"), new Cells("5"))));
+        }
+    }
+
+    @Test
+    void readerIsParsedToRowsAndClosedWithStream() {
+        AtomicBoolean closed = new AtomicBoolean(false);
+        Reader in = new StringReader("a,b\n\"c\nd\",e") {
+            @Override
+            public void close() {
+                closed.set(true);
+                super.close();
+            }
+        };
+        try (Stream<Row> rows = csvParser().separatedBy(',').parse(in)) {
+            assertThat(rows.collect(toList()), is(asList(new Cells("a", "b"), new Cells("c\nd", "e"))));
+        }
+        assertThat(closed.get(), is(true));
+    }
+
+    @Test
+    void inputStreamIsParsedToRowsAndClosedWithStream() {
+        AtomicBoolean closed = new AtomicBoolean(false);
+        InputStream in = new ByteArrayInputStream("ä,b\n\"c\nd\",€".getBytes(UTF_8)) {
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+        try (Stream<Row> rows = csvParser().separatedBy(',').parse(in, UTF_8)) {
+            assertThat(rows.collect(toList()), is(asList(new Cells("ä", "b"), new Cells("c\nd", "€"))));
+        }
+        assertThat(closed.get(), is(true));
+    }
+
+    @Test
+    void inputStreamNotParsableAsBytesIsDecoded() {
+        InputStream in = new ByteArrayInputStream("ä,b\n\"c\nd\",€".getBytes(UTF_16));
+        try (Stream<Row> rows = csvParser().separatedBy(',').parse(in, UTF_16)) {
+            assertThat(rows.collect(toList()), is(asList(new Cells("ä", "b"), new Cells("c\nd", "€"))));
+        }
+    }
+
+    @Test
+    void malformedInputStreamNotParsableAsBytesFailsIfValidating() {
+        InputStream in = new ByteArrayInputStream(new byte[]{0, 'a', (byte) 0xd8, 0, 0, 'b'});
+        try (Stream<Row> rows = csvParser().separatedBy(',').validatingEncoding().parse(in, UTF_16)) {
+            assertThrows(UncheckedIOException.class, () -> rows.collect(toList()));
+        }
+    }
+
+    @Test
+    void fileIsParsedToRows(@TempDir Path folder) throws IOException {
+        Path file = Files.write(folder.resolve("test.csv"), "a;b\n\"c\nd\";e".getBytes(UTF_8));
+        try (Stream<Row> rows = csvParser().parse(file, UTF_8)) {
+            assertThat(rows.parallel().collect(toList()), is(asList(new Cells("a", "b"), new Cells("c\nd", "e"))));
+        }
+    }
+
+    @Test
+    void metricsAreRecordedWhileParsing() {
+        CsvMetrics metrics = CsvMetrics.csvMetrics();
+        CsvParserBuilder builder = csvParser().separatedBy(',').commentsStartWith("#").recordingMetrics(metrics)
+                .handlingErrors(ErrorHandlers.ignoreErrors());
+        try (Stream<Row> rows = builder.parse(new ByteArrayInputStream("#c\na,bcd\n\"e\nf\",g\nh\"i\n".getBytes(UTF_8)), UTF_8)) {
+            assertThat(rows.count(), is(3L));
+        }
+        CsvMetrics.Snapshot snapshot = metrics.snapshot();
+
+        assertThat(snapshot.getRecords(), is(3L));
+        assertThat(snapshot.getRows(), is(3L));
+        assertThat(snapshot.getComments(), is(1L));
+        assertThat(snapshot.getMultiLineRecords(), is(1L));
+        assertThat(snapshot.getErrorsSkipped(), is(1L));
+        assertThat(snapshot.getLength(), is(20L));
+        assertThat(snapshot.getLongestRecord(), is(8L));
+        assertThat(snapshot.getLongestCell(), is(5L));
+    }
+
+    @Test
+    void metricsAreRecordedParsingLines() {
+        CsvMetrics metrics = CsvMetrics.csvMetrics();
+        Function<String, List<Row>> parser = csvParser().separatedBy(',').recordingMetrics(metrics).build();
+        Stream.of("a,b", "", "\"c", "d\"").map(parser).forEach(rows -> { });
+        CsvMetrics.Snapshot snapshot = metrics.snapshot();
+
+        assertThat(snapshot.getRecords(), is(3L));
+        assertThat(snapshot.getMultiLineRecords(), is(1L));
+        assertThat(snapshot.getErrors(), is(0L));
+    }
 }
@@ -3,6 +3,7 @@ package diergo.csv;
 import org.junit.jupiter.api.Test;
 
 import java.text.DecimalFormatSymbols;
+import java.util.stream.Stream;
 
 import static diergo.csv.CsvPrinterBuilder.csvPrinter;
 import static org.hamcrest.Matchers.is;
@@ -46,10 +47,58 @@ class CsvPrinterBuilderTest {
         assertThat(printer.separator, is(DecimalFormatSymbols.getInstance().getPatternSeparator()));
     }
 
+    @Test
+    void printingToUsesConfigurationAndCrlf() {
+        StringBuilder out = new StringBuilder();
+        Stream.of(new Cells("a;b", "c"), new Comment("d")).forEachOrdered(csvPrinter().separatedBy(';').commentsStartWith("//").printingTo(out));
+
+        assertThat(out.toString(), is("\"a;b\";c\r\n//d\r\n"));
+    }
+
+    @Test
+    void printingToUsesLineSeparator() {
+        StringBuilder out = new StringBuilder();
+        Stream.of(new Cells("a", "b'c")).forEachOrdered(csvPrinter().separatedBy(',').quotedWith('\'').printingTo(out, '\n'));
+
+        assertThat(out.toString(), is("a,'b''c'\n"));
+    }
+
+    @Test
+    void printUsesConfigurationAndCrlf() {
+        StringBuilder out = csvPrinter().separatedBy(';').commentsStartWith("//")
+                .print(Stream.of(new Cells("a;b", "c"), new Comment("d")).parallel(), new StringBuilder());
+
+        assertThat(out.toString(), is("\"a;b\";c\r\n//d\r\n"));
+    }
+
+    @Test
+    void printUsesLineSeparator() {
+        StringBuilder out = csvPrinter().separatedBy(',').quotedWith('\'').print(Stream.of(new Cells("a", "b'c")), new StringBuilder(), '\n');
+
+        assertThat(out.toString(), is("a,'b''c'\n"));
+    }
+
     @Test
     void separatorCanBeConfigured() {
         RowPrinter printer = (RowPrinter) csvPrinter().separatedBy('\t').build();
 
         assertThat(printer.separator, is('\t'));
     }
+
+    @Test
+    void metricsAreRecordedWhilePrinting() {
+        CsvMetrics metrics = CsvMetrics.csvMetrics();
+        StringBuilder out = new StringBuilder();
+        Stream.of(new Cells("a", "b\nc"), new Comment("d"), new Cells("ef"))
+                .forEach(csvPrinter().separatedBy(',').commentsStartWith("#").recordingMetrics(metrics).printingTo(out, '\n'));
+        CsvMetrics.Snapshot snapshot = metrics.snapshot();
+
+        assertThat(out.toString(), is("a,\"b\nc\"\n#d\nef\n"));
+        assertThat(snapshot.getRows(), is(3L));
+        assertThat(snapshot.getComments(), is(1L));
+        assertThat(snapshot.getMultiLineRecords(), is(1L));
+        assertThat(snapshot.getLength(), is(9L));
+        assertThat(snapshot.getLongestRecord(), is(5L));
+        assertThat(snapshot.getLongestCell(), is(3L));
+    }
 }
@@ -0,0 +1,79 @@
+package diergo.csv;
+
+import org.junit.jupiter.api.Test;
+
+import static diergo.csv.CsvGenerator.csvGenerator;
+import static diergo.csv.CsvParserBuilder.DEFAULT_SEPARATORS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DialectSnifferTest {
+
+    private final DialectSniffer sniffer = new DialectSniffer(DEFAULT_SEPARATORS, 100);
+
+    @Test
+    void generatedDataIsDetected() {
+        String csv = csvGenerator(17).separatedBy(';').quotedWith('\'').withHeader().withNumbers()
+                .embeddingSeparators(0.2).embeddingLineBreaks(0.1).quoting(0.1).withComments("#", 0.1)
+                .writeTo(new StringBuilder(), 200).toString();
+
+        assertThat(sniffer.sniff(csv, false), is(new Dialect(';', '\'', true, "#", "\n")));
+    }
+
+    @Test
+    void skewedFirstLineDoesNotDetermineSeparator() {
+        Dialect dialect = sniffer.sniff("a,b,c;d\r\n1;2\r\n3;4\r\n5;6\r\n", false);
+
+        assertThat(dialect.getSeparator(), is(';'));
+        assertThat(dialect.getLineSeparator(), is("\r\n"));
+    }
+
+    @Test
+    void numbersBelowTextAreAHeader() {
+        assertThat(sniffer.sniff("name,amount\nfoo,1.5\nbar,22\n", false).hasHeader(), is(true));
+        assertThat(sniffer.sniff("foo,1.5\nbar,22\n", false).hasHeader(), is(false));
+    }
+
+    @Test
+    void cellsOfOtherLengthAreAHeader() {
+        assertThat(sniffer.sniff("code,country\nDE,GER\nFR,FRA\n", false).hasHeader(), is(true));
+        assertThat(sniffer.sniff("AT,AUT\nDE,GER\nFR,FRA\n", false).hasHeader(), is(false));
+    }
+
+    @Test
+    void duplicateNamesAreNoHeader() {
+        assertThat(sniffer.sniff("a,a\n1,2\n3,4\n", false).hasHeader(), is(false));
+    }
+
+    @Test
+    void singleColumnUsesFirstSeparatorAndDefaults() {
+        Dialect dialect = sniffer.sniff("a", false);
+
+        assertThat(dialect, is(new Dialect(',', '"', false, null, "\r\n")));
+    }
+
+    @Test
+    void commentsNeedData() {
+        assertThat(sniffer.sniff("#a,b\n#c,d\n", false).getCommentStart(), nullValue());
+        assertThat(sniffer.sniff("#a\nc,d\n", false).getCommentStart(), is("#"));
+    }
+
+    @Test
+    void truncatedSampleIsCutAtLastLineBreak() {
+        assertThat(sniffer.sniff("a;b\n1;2\n3;4\n5,6,7,8", true).getSeparator(), is(';'));
+    }
+
+    @Test
+    void recordsAreLimited() {
+        Dialect dialect = new DialectSniffer(DEFAULT_SEPARATORS, 2).sniff("a;b\n1;2\n3,4,5\n6,7,8\n9,0,1\n", false);
+
+        assertThat(dialect.getSeparator(), is(';'));
+    }
+
+    @Test
+    void separatorIsNeeded() {
+        assertThrows(IllegalArgumentException.class, () -> new DialectSniffer("", 1));
+    }
+}
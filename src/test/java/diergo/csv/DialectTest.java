@@ -0,0 +1,70 @@
+package diergo.csv;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DialectTest {
+
+    @Test
+    void sampleIsSniffed() {
+        assertThat(Dialect.sniff("a\tb\n1\t2\n"), is(new Dialect('\t', '"', true, null, "\n")));
+    }
+
+    @Test
+    void readerIsResetAfterSniffing() throws IOException {
+        BufferedReader in = new BufferedReader(new StringReader("a;b\n1;2\n3;4\n"));
+
+        assertThat(Dialect.sniff(in, ",;", 6, 10).getSeparator(), is(';'));
+        assertThat(in.readLine(), is("a;b"));
+    }
+
+    @Test
+    void readerMustSupportMarks() {
+        assertThrows(IllegalArgumentException.class, () -> Dialect.sniff(new Reader() {
+            @Override
+            public int read(char[] cbuf, int off, int len) {
+                return -1;
+            }
+
+            @Override
+            public void close() {
+            }
+        }));
+    }
+
+    @Test
+    void fileIsSniffed(@TempDir Path dir) throws IOException {
+        Path file = Files.write(dir.resolve("test.csv"), "größe;maß\r\n1;2\r\n".getBytes(UTF_8));
+
+        assertThat(Dialect.sniff(file, UTF_8), is(new Dialect(';', '"', true, null, "\r\n")));
+    }
+
+    @Test
+    void separatorsAreSniffedFromCandidates(@TempDir Path dir) throws IOException {
+        String data = "a|b;c\n1|2;3\n4|5;6\n";
+        Path file = Files.write(dir.resolve("test.csv"), data.getBytes(UTF_8));
+
+        assertThat(Dialect.sniff(data, "|", 10).getSeparator(), is('|'));
+        assertThat(Dialect.sniff(new BufferedReader(new StringReader(data)), "|", 100, 10).getSeparator(), is('|'));
+        assertThat(Dialect.sniff(file, UTF_8, "|", 100, 10).getSeparator(), is('|'));
+        assertThat(Dialect.sniff(file, UTF_8).getSeparator(), is(';'));
+    }
+
+    @Test
+    void dialectIsPrintable() {
+        assertThat(new Dialect(',', '"', false, "#", "\r\n").toString(),
+                is("Dialect{separator=,, quote=\", header=false, commentStart=#, lineSeparator=\\r\\n}"));
+    }
+}
@@ -0,0 +1,40 @@
+package diergo.csv;
+
+import org.junit.jupiter.api.Test;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+
+class EncodedCellsTest {
+
+    private static final byte[] RECORD = "grüße,\"a\"\"€\r\n\",12.5".getBytes(UTF_8);
+
+    @Test
+    void cellsAreDecodedOnAccess() {
+        assertThat(cells(), contains("grüße", "a\"€\n", "12.5"));
+    }
+
+    @Test
+    void contentIsComparedWithAndWithoutDecoding() {
+        EncodedCells row = cells();
+
+        assertThat(row.contentEquals(0, "grüße"), is(true));
+        assertThat(row.contentEquals(0, "grusse"), is(false));
+        assertThat(row.contentEquals(1, "a\"€\n"), is(true));
+        assertThat(row.contentEquals(2, "12.5"), is(true));
+        assertThat(row.contentEquals(2, "12.50"), is(false));
+    }
+
+    @Test
+    void numbersAreParsedInPlace() {
+        assertThat(cells().getDouble(2), is(12.5));
+    }
+
+    private static EncodedCells cells() {
+        RecordScanner scanner = new RecordScanner(',', '"', null, false, UTF_8);
+        scanner.scan(RECORD, 0, RECORD.length, true);
+        return (EncodedCells) scanner.toRow(RECORD, 0);
+    }
+}
@@ -12,8 +12,10 @@ import static diergo.csv.ErrorHandlers.loggingErrors;
 import static diergo.csv.ErrorHandlers.throwingError;
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
+import static org.hamcrest.Matchers.emptyArray;
 import static org.hamcrest.Matchers.hasEntry;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -24,6 +26,14 @@ class ErrorHandlersTest {
         assertThrows(IllegalArgumentException.class, () -> throwingError().apply("foo,bar", new IllegalArgumentException("error")));
     }
 
+    @Test
+    void throwingFillsInStackTraceOfParseErrors() {
+        CsvParseException error = new CsvParseException(CsvParseException.Kind.UNQUOTED_QUOTE, '"', null, 0, 0, 0, 0);
+
+        CsvParseException thrown = assertThrows(CsvParseException.class, () -> throwingError().apply("foo,bar", error));
+        assertThat(thrown.getStackTrace(), not(emptyArray()));
+    }
+
     @Test
     void ignoringCreatesNoRows() {
         List<Row> result = ignoreErrors().apply("foo,bar", new IllegalArgumentException("error"));
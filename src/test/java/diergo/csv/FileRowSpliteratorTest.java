@@ -0,0 +1,221 @@
+package diergo.csv;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+
+import static java.nio.charset.StandardCharsets.UTF_16;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.StreamSupport.stream;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FileRowSpliteratorTest {
+
+    @TempDir
+    Path folder;
+
+    @Test
+    void splitPartsContainAllRowsInOrder() throws IOException {
+        String data = createData();
+        Path file = write(data, UTF_8);
+        try (FileChannel channel = FileChannel.open(file)) {
+            List<Spliterator<Row>> parts = new ArrayList<>();
+            split(new FileRowSpliterator(channel, UTF_8, parser(",;", false), 256), parts);
+
+            assertThat(parts.size(), greaterThan(8));
+            List<Row> rows = new ArrayList<>();
+            parts.forEach(part -> part.forEachRemaining(rows::add));
+            assertThat(rows, is(parseSequentially(data)));
+        }
+    }
+
+    @Test
+    void parallelStreamContainsAllRowsInOrder() throws IOException {
+        String data = createData();
+        Path file = write(data, UTF_8);
+        try (FileChannel channel = FileChannel.open(file)) {
+            FileRowSpliterator rows = new FileRowSpliterator(channel, UTF_8, parser(",", false), 256);
+
+            assertThat(stream(rows, true).collect(toList()), is(parseSequentially(data)));
+        }
+    }
+
+    @Test
+    void columnsSelectedByNameAreResolvedBeforeSplitting() throws IOException {
+        String data = createData();
+        Path file = write(data, UTF_8);
+        try (FileChannel channel = FileChannel.open(file)) {
+            RowParser parser = new RowParser(",", '"', "#", false, false, false, ColumnSelection.byName("text", "id"), null, ErrorHandlers.commentingErrors());
+            FileRowSpliterator rows = new FileRowSpliterator(channel, UTF_8, parser, 256);
+            List<Row> expected = parseSequentially(data).stream()
+                    .map(row -> row.isComment() || row.getLength() == 0 ? row : new Cells(row.get(1), row.get(0)))
+                    .collect(toList());
+
+            assertThat(stream(rows, true).collect(toList()), is(expected));
+        }
+    }
+
+    @Test
+    void splitBetweenEscapedQuotesKeepsQuotedCell() throws IOException {
+        StringBuilder head = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            head.append(i).append(",plain\n");
+        }
+        head.append("q,\"text \"");
+        StringBuilder data = new StringBuilder(head).append("\"\nmore \"\" end\"\n");
+        while (data.length() < 2 * head.length() - 8) {
+            data.append("r,x\n");
+        }
+        while (data.length() < 2 * head.length() - 1) {
+            data.append('x');
+        }
+        data.append('\n');
+        Path file = write(data.toString(), UTF_8);
+        try (FileChannel channel = FileChannel.open(file)) {
+            RowParser parser = new RowParser(",", '"', null, false, ErrorHandlers.throwingError());
+            FileRowSpliterator rows = new FileRowSpliterator(channel, UTF_8, parser, 256);
+            Spliterator<Row> prefix = rows.trySplit();
+
+            List<Row> parsed = new ArrayList<>();
+            prefix.forEachRemaining(parsed::add);
+            rows.forEachRemaining(parsed::add);
+            assertThat(parsed, is(parseSequentially(data.toString())));
+            assertThat(parsed.get(100).get(1), is("text \"\nmore \" end"));
+        }
+    }
+
+    @Test
+    void headerIsKeptWhenFilteringByNameInParallel() throws IOException {
+        String data = createData();
+        Path file = write(data, UTF_8);
+        try (FileChannel channel = FileChannel.open(file)) {
+            FileRowSpliterator rows = new FileRowSpliterator(channel, UTF_8, filteringParser(), 256);
+            List<Row> expected = stream(new RowSpliterator(new StringReader(data), filteringParser()), false).collect(toList());
+
+            List<Row> actual = stream(rows, true).collect(toList());
+            assertThat(actual, is(expected));
+            assertThat(actual.get(1).get(0), is("id"));
+        }
+    }
+
+    @Test
+    void fileIsNotSplitForMultiByteCharset() throws IOException {
+        assertThat(trySplit(createData(), UTF_16, false), nullValue());
+    }
+
+    @Test
+    void fileIsNotSplitInLaxMode() throws IOException {
+        assertThat(trySplit(createData(), UTF_8, true), nullValue());
+    }
+
+    @Test
+    void fileIsNotSplitWithoutData() throws IOException {
+        StringBuilder data = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            data.append("#comment\n\n");
+        }
+        assertThat(trySplit(data.toString(), UTF_8, false), nullValue());
+    }
+
+    @Test
+    void fileIsNotSplitWhenStarted() throws IOException {
+        Path file = write(createData(), UTF_8);
+        try (FileChannel channel = FileChannel.open(file)) {
+            FileRowSpliterator rows = new FileRowSpliterator(channel, UTF_8, parser(",", false), 256);
+            rows.tryAdvance(row -> { });
+
+            assertThat(rows.trySplit(), nullValue());
+        }
+    }
+
+    @Test
+    void closingClosesFile() throws IOException {
+        FileChannel channel = FileChannel.open(write("a", UTF_8));
+        new FileRowSpliterator(channel, UTF_8, parser(",", false)).close();
+
+        assertThat(channel.isOpen(), is(false));
+    }
+
+    @Test
+    void closingClosedFileRaisesNoError() throws IOException {
+        FileChannel channel = FileChannel.open(write("a", UTF_8));
+        FileRowSpliterator rows = new FileRowSpliterator(channel, UTF_8, parser(",", false));
+        channel.close();
+        rows.close();
+
+        assertThrows(RuntimeException.class, () -> rows.tryAdvance(row -> { }));
+    }
+
+    private Spliterator<Row> trySplit(String data, Charset charset, boolean laxMode) throws IOException {
+        Path file = write(data, charset);
+        try (FileChannel channel = FileChannel.open(file)) {
+            return new FileRowSpliterator(channel, charset, parser(",", laxMode), 256).trySplit();
+        }
+    }
+
+    private static void split(Spliterator<Row> rows, List<Spliterator<Row>> parts) {
+        Spliterator<Row> prefix = rows.trySplit();
+        if (prefix != null) {
+            split(prefix, parts);
+            split(rows, parts);
+        } else {
+            parts.add(rows);
+        }
+    }
+
+    private static String createData() {
+        StringBuilder data = new StringBuilder("#header follows\r\nid,text,\"quoted\"\r\n");
+        for (int i = 0; i < 200; i++) {
+            data.append(i).append(',');
+            switch (i % 5) {
+                case 0:
+                    data.append("\"multi\r\nline \"\"").append(i).append("\"\"\"");
+                    break;
+                case 1:
+                    data.append("c\n#\"").append(i).append(" is a \"comment");
+                    break;
+                case 2:
+                    data.append("\"\"");
+                    break;
+                case 3:
+                    data.append("\"a,b\"\"\n\"\"c\",\"\"\n");
+                    break;
+                default:
+                    data.append("ünïcödé");
+            }
+            data.append(",x\r\n");
+        }
+        return data.toString();
+    }
+
+    private Path write(String data, Charset charset) throws IOException {
+        return Files.write(folder.resolve("data.csv"), data.getBytes(charset));
+    }
+
+    private static List<Row> parseSequentially(String data) {
+        return stream(new RowSpliterator(new StringReader(data), parser(",", false)), false).collect(toList());
+    }
+
+    private static RowParser filteringParser() {
+        return new RowParser(",", '"', "#", false, false, false, null,
+                new CellFilter().and(ColumnSelection.byName("id"), id -> id.toString().endsWith("1")), ErrorHandlers.commentingErrors());
+    }
+
+    private static RowParser parser(CharSequence separators, boolean laxMode) {
+        return new RowParser(separators, '"', "#", laxMode, ErrorHandlers.commentingErrors());
+    }
+}
@@ -0,0 +1,99 @@
+package diergo.csv;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IndexedMapTest {
+
+    private final IndexedMap.Header header = new IndexedMap.Header(asList("one", "two", "three"));
+
+    @Test
+    void valuesAreGotByName() {
+        Map<String, String> values = new IndexedMap(header, new Cells("1", "2", "3"));
+        assertThat(values.get("one"), is("1"));
+        assertThat(values.get("three"), is("3"));
+        assertThat(values.get("four"), nullValue());
+        assertThat(values.size(), is(3));
+    }
+
+    @Test
+    void missingValuesAreAbsent() {
+        Map<String, String> values = new IndexedMap(header, new Cells("1"));
+        assertThat(values.containsKey("two"), is(false));
+        assertThat(values.size(), is(1));
+        assertThat(values.toString(), is("{one=1}"));
+    }
+
+    @Test
+    void moreValuesThanColumnsAreRejected() {
+        assertThrows(IndexOutOfBoundsException.class, () -> new IndexedMap(header, new Cells("1", "2", "3", "4")));
+    }
+
+    @Test
+    void otherKeysAreAddedAfterColumns() {
+        Map<String, String> values = new IndexedMap(header, new Cells("1", "2"));
+        assertThat(values.put("four", "4"), nullValue());
+        assertThat(values.put("three", "3"), nullValue());
+        assertThat(values.put("one", "uno"), is("1"));
+        assertThat(values.toString(), is("{one=uno, two=2, three=3, four=4}"));
+        assertThat(values.size(), is(4));
+    }
+
+    @Test
+    void valuesAreRemoved() {
+        Map<String, String> values = new IndexedMap(header, new Cells("1", "2", "3"));
+        values.put("four", "4");
+        assertThat(values.remove("two"), is("2"));
+        assertThat(values.remove("four"), is("4"));
+        assertThat(values.remove("two"), nullValue());
+        assertThat(values.toString(), is("{one=1, three=3}"));
+        values.clear();
+        assertThat(values.isEmpty(), is(true));
+    }
+
+    @Test
+    void valuesAreRemovedAndSetByIterator() {
+        Map<String, String> values = new IndexedMap(header, new Cells("1", "2", "3"));
+        values.put("four", "4");
+        Iterator<Map.Entry<String, String>> entries = values.entrySet().iterator();
+        entries.next().setValue("uno");
+        entries.next();
+        entries.remove();
+        entries.next();
+        entries.next();
+        entries.remove();
+        assertThat(entries.hasNext(), is(false));
+        assertThat(values.toString(), is("{one=uno, three=3}"));
+    }
+
+    @Test
+    void lastOfDuplicateColumnsIsUsed() {
+        Map<String, String> values = new IndexedMap(new IndexedMap.Header(asList("one", "two", "one")), new Cells("1", "2", "3"));
+        Map<String, String> expected = new LinkedHashMap<>();
+        expected.put("one", "1");
+        expected.put("two", "2");
+        expected.put("one", "3");
+        assertThat(values, is(expected));
+        assertThat(values.size(), is(2));
+    }
+
+    @Test
+    void equalsAndHashCodeAreThoseOfMaps() {
+        Map<String, String> values = new IndexedMap(header, new Cells("1", "2"));
+        Map<String, String> expected = new LinkedHashMap<>();
+        expected.put("one", "1");
+        expected.put("two", "2");
+        assertThat(values, is(expected));
+        assertThat(expected.equals(values), is(true));
+        assertThat(values.hashCode(), is(expected.hashCode()));
+    }
+}
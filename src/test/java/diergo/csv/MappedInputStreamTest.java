@@ -0,0 +1,79 @@
+package diergo.csv;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+class MappedInputStreamTest {
+
+    private static final String DATA = "some bytes spanning multiple chunks\nand lines";
+
+    @TempDir
+    Path folder;
+
+    @Test
+    void bytesSpanningChunksAreRead() throws IOException {
+        try (FileChannel channel = FileChannel.open(write(DATA))) {
+            assertThat(read(new MappedInputStream(channel, 0, channel.size(), false, 16), 7), is(DATA));
+        }
+    }
+
+    @Test
+    void rangeOfFileIsRead() throws IOException {
+        try (FileChannel channel = FileChannel.open(write("head," + DATA + ",tail"))) {
+            assertThat(read(new MappedInputStream(channel, 5, channel.size() - 5, false), 1024), is(DATA));
+        }
+    }
+
+    @Test
+    void singleBytesAreRead() throws IOException {
+        try (FileChannel channel = FileChannel.open(write("ä"));
+             InputStream in = new MappedInputStream(channel, 0, channel.size(), false)) {
+            assertThat(in.read(), is(0xc3));
+            assertThat(in.read(), is(0xa4));
+            assertThat(in.read(), is(-1));
+        }
+    }
+
+    @Test
+    void emptyRangeHasNoBytes() throws IOException {
+        try (FileChannel channel = FileChannel.open(write(DATA));
+             InputStream in = new MappedInputStream(channel, 3, 3, false)) {
+            assertThat(in.read(new byte[1], 0, 0), is(0));
+            assertThat(in.read(new byte[1], 0, 1), is(-1));
+        }
+    }
+
+    @Test
+    void channelIsClosedIfOwned() throws IOException {
+        FileChannel channel = FileChannel.open(write(DATA));
+        new MappedInputStream(channel, 0, channel.size(), false).close();
+        assertThat(channel.isOpen(), is(true));
+        new MappedInputStream(channel, 0, channel.size(), true).close();
+        assertThat(channel.isOpen(), is(false));
+    }
+
+    private Path write(String data) throws IOException {
+        return Files.write(folder.resolve("data.txt"), data.getBytes(UTF_8));
+    }
+
+    private static String read(InputStream in, int bufferSize) throws IOException {
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        byte[] buffer = new byte[bufferSize];
+        int read;
+        while ((read = in.read(buffer, 0, buffer.length)) >= 0) {
+            result.write(buffer, 0, read);
+        }
+        return new String(result.toByteArray(), UTF_8);
+    }
+}
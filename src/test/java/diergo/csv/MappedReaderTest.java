@@ -0,0 +1,81 @@
+package diergo.csv;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.MalformedInputException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MappedReaderTest {
+
+    private static final String DATA = "ünïcödé text with 𝄞 and € spanning many chunks\nand lines";
+
+    @TempDir
+    Path folder;
+
+    @Test
+    void charactersSpanningChunksAreDecoded() throws IOException {
+        try (FileChannel channel = FileChannel.open(write(DATA))) {
+            assertThat(read(new MappedReader(channel, 0, channel.size(), UTF_8, false, 16), 7), is(DATA));
+        }
+    }
+
+    @Test
+    void rangeOfFileIsDecoded() throws IOException {
+        try (FileChannel channel = FileChannel.open(write("head," + DATA + ",tail"))) {
+            assertThat(read(new MappedReader(channel, 5, channel.size() - 5, UTF_8, false), 1024), is(DATA));
+        }
+    }
+
+    @Test
+    void emptyRangeHasNoCharacters() throws IOException {
+        try (FileChannel channel = FileChannel.open(write(DATA));
+             MappedReader in = new MappedReader(channel, 3, 3, UTF_8, false)) {
+            assertThat(in.read(new char[1], 0, 0), is(0));
+            assertThat(in.read(new char[1], 0, 1), is(-1));
+            assertThat(in.read(new char[1], 0, 1), is(-1));
+        }
+    }
+
+    @Test
+    void malformedInputIsReplacedUnlessValidating() throws IOException {
+        Path file = Files.write(folder.resolve("data.txt"), new byte[]{'a', (byte) 0xc3, 'b'});
+        try (FileChannel channel = FileChannel.open(file)) {
+            assertThat(read(new MappedReader(channel, 0, 3, UTF_8, false), 16), is("a\ufffdb"));
+            assertThrows(MalformedInputException.class,
+                    () -> read(new MappedReader(channel, 0, 3, UTF_8, false, MappedReader.CHUNK_SIZE, true), 16));
+        }
+    }
+
+    @Test
+    void channelIsClosedIfOwned() throws IOException {
+        FileChannel channel = FileChannel.open(write(DATA));
+        new MappedReader(channel, 0, channel.size(), UTF_8, false).close();
+        assertThat(channel.isOpen(), is(true));
+        new MappedReader(channel, 0, channel.size(), UTF_8, true).close();
+        assertThat(channel.isOpen(), is(false));
+    }
+
+    private Path write(String data) throws IOException {
+        return Files.write(folder.resolve("data.txt"), data.getBytes(UTF_8));
+    }
+
+    private static String read(Reader in, int bufferSize) throws IOException {
+        StringBuilder result = new StringBuilder();
+        char[] buffer = new char[bufferSize];
+        int read;
+        while ((read = in.read(buffer, 0, buffer.length)) >= 0) {
+            result.append(buffer, 0, read);
+        }
+        return result.toString();
+    }
+}
@@ -14,6 +14,9 @@ import static java.util.Collections.*;
 import static java.util.function.UnaryOperator.identity;
 import static org.hamcrest.Matchers.*;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 
 class MapsTest {
 
@@ -37,6 +40,58 @@ class MapsTest {
         assertThat(values.get("two"), is("2"));
     }
 
+    @Test
+    void indexedMapIsCreatedFromRowWithPredefinedHeader() {
+        List<Map<String, String>> result = toIndexedMaps(asList("one", "two")).apply(new Cells("1", "2"));
+        assertThat(result.size(), is(1));
+        Map<String, String> values = result.get(0);
+        assertThat(values.get("one"), is("1"));
+        assertThat(values.get("two"), is("2"));
+    }
+
+    @Test
+    void dataRowsAreNotIteratedForHeader() {
+        Function<Row, List<Map<String, String>>> indexed = toIndexedMaps();
+        Function<Row, List<Map<String, String>>> linked = toMaps();
+        indexed.apply(new Cells("one", "two"));
+        linked.apply(new Cells("one", "two"));
+        Row row = spy(new Cells("1", "2"));
+
+        indexed.apply(row);
+        linked.apply(row);
+
+        verify(row, never()).spliterator();
+        verify(row, never()).iterator();
+    }
+
+    @Test
+    void indexedMapIsCreatedFromRowWithHeaderFromFirstRow() {
+        Function<Row, List<Map<String, String>>> mapper = toIndexedMaps();
+        assertThat(mapper.apply(new Cells("one", "two")).size(), is(0));
+        List<Map<String, String>> result = mapper.apply(new Cells("1", "2"));
+        assertThat(result.size(), is(1));
+        Map<String, String> values = result.get(0);
+        assertThat(values.get("one"), is("1"));
+        assertThat(values.get("two"), is("2"));
+    }
+
+    @Test
+    void indexedMapsEqualMaps() {
+        List<String> header = asList("one", "two", "three");
+        Row row = new Cells("1", "2");
+        assertThat(toIndexedMaps(header).apply(row), is(toMaps(header).apply(row)));
+    }
+
+    @Test
+    void indexedMapsCanBeModified() {
+        Map<String, String> values = toIndexedMaps(asList("one", "two")).apply(new Cells("1", "2")).get(0);
+        Map<String, String> result = Maps.<String>renamingValue(identity(), "one", "uno")
+                .andThen(Maps.<String>addingValue(identity(), "three", m -> "3"))
+                .andThen(Maps.<String>removingValue(identity(), "two")).apply(values);
+        assertThat(result, is(values));
+        assertThat(result.toString(), is("{uno=1, three=3}"));
+    }
+
     @Test
     void commentIsIgnoredAsMap() {
         assertThat(toMaps(singletonList("one")).apply(new Comment("what?")), is(emptyList()));
@@ -0,0 +1,132 @@
+package diergo.csv;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OrderedRowWriterTest {
+
+    private static final int ROWS = 200000;
+
+    private final RowPrinter printer = new RowPrinter(',', '"', "#");
+    private final OrderedRowWriter writer = new OrderedRowWriter(printer, "\n");
+
+    @Test
+    void emptyStreamLeavesAppendableUnchanged() {
+        StringBuilder out = new StringBuilder();
+
+        assertThat(writer.write(Stream.<Row>empty().parallel(), out), sameInstance(out));
+        assertThat(out.toString(), is(""));
+    }
+
+    @Test
+    void rowsArePrintedAsLines() {
+        StringBuilder out = new OrderedRowWriter(printer, "\r\n").write(Stream.of(new Cells("a", "b,c"), new Comment("d")), new StringBuilder());
+
+        assertThat(out.toString(), is("a,\"b,c\"\r\n#d\r\n"));
+    }
+
+    @Test
+    void parallelOutputIsSameAsSequential() {
+        String sequential = writer.write(rows(new AtomicInteger()), new StringBuilder()).toString();
+        String parallel = writer.write(rows(new AtomicInteger()).parallel(), new StringBuilder()).toString();
+        ForkJoinPool pool = new ForkJoinPool(3);
+        String parallelOfPool = new OrderedRowWriter(printer, "\n", pool).write(rows(new AtomicInteger()).parallel(), new StringBuilder()).toString();
+        pool.shutdown();
+
+        assertThat(parallel, is(sequential));
+        assertThat(parallelOfPool, is(sequential));
+        assertThat(sequential.length(), is(rows(new AtomicInteger()).mapToInt(row -> printer.apply(row).length() + 1).sum()));
+    }
+
+    @Test
+    void parallelOutputIsWrittenBeforeAllRowsArePrinted() {
+        AtomicInteger printed = new AtomicInteger();
+        List<Integer> printedWhenWritten = new ArrayList<>();
+        StringWriter out = new StringWriter() {
+            @Override
+            public StringWriter append(CharSequence s) {
+                printedWhenWritten.add(printed.get());
+                return super.append(s);
+            }
+        };
+
+        writer.write(rows(printed).parallel(), out);
+
+        assertThat(printedWhenWritten.size(), greaterThan(2));
+        assertThat(printedWhenWritten.get(0), lessThan(ROWS));
+    }
+
+    @Test
+    void sequentialOutputIsWrittenInBlocks() {
+        AtomicInteger printed = new AtomicInteger();
+        List<Integer> lengths = new ArrayList<>();
+        StringWriter out = new StringWriter() {
+            @Override
+            public StringWriter append(CharSequence s) {
+                lengths.add(s.length());
+                return super.append(s);
+            }
+        };
+
+        writer.write(rows(printed), out);
+
+        assertThat(lengths.size(), greaterThan(2));
+        assertThat(lengths.get(0), greaterThan(OrderedRowWriter.BLOCK_SIZE - 1));
+        assertThat(lengths.get(0), lessThan(OrderedRowWriter.BLOCK_SIZE + 32));
+    }
+
+    @Test
+    void partsAreSplitInOrderUpToSize() {
+        List<Row> rows = new ArrayList<>();
+        rows(new AtomicInteger()).limit(1000).forEach(rows::add);
+        OrderedRowWriter.Parts parts = new OrderedRowWriter.Parts(rows.spliterator(), 100);
+
+        List<Row> inOrder = new ArrayList<>();
+        for (Spliterator<? extends Row> part = parts.next(); part != null; part = parts.next()) {
+            assertThat(part.estimateSize(), lessThanOrEqualTo(100L));
+            part.forEachRemaining(inOrder::add);
+        }
+
+        assertThat(inOrder, is(rows));
+        assertThat(parts.next(), nullValue());
+    }
+
+    @Test
+    void ioExceptionIsWrappedToUnchecked() throws IOException {
+        Writer out = mock(Writer.class);
+        when(out.append(any(CharSequence.class))).thenThrow(new IOException("test"));
+
+        assertThrows(UncheckedIOException.class, () -> writer.write(Stream.of(new Cells("a")), out));
+        assertThrows(UncheckedIOException.class, () -> writer.write(rows(new AtomicInteger()).parallel(), out));
+    }
+
+    private static Stream<Row> rows(AtomicInteger printed) {
+        return IntStream.range(0, ROWS).mapToObj(i -> {
+            printed.incrementAndGet();
+            return new Cells(Integer.toString(i), "x\"" + i);
+        });
+    }
+}
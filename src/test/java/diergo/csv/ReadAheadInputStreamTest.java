@@ -0,0 +1,126 @@
+package diergo.csv;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ReadAheadInputStreamTest {
+
+    @Test
+    void allBytesAreReadInOrder() throws IOException {
+        byte[] data = new byte[10000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (i * 31);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (InputStream in = new ReadAheadInputStream(new ByteArrayInputStream(data), 64, 3)) {
+            byte[] buffer = new byte[100];
+            out.write(in.read());
+            for (int read = in.read(buffer, 0, 0); read >= 0; read = in.read(buffer, 0, buffer.length)) {
+                out.write(buffer, 0, read);
+            }
+            assertThat(in.read(), is(-1));
+            assertThat(in.available(), is(0));
+        }
+
+        assertThat(out.toByteArray(), is(data));
+    }
+
+    @Test
+    void buffersMustNotBeEmpty() {
+        InputStream source = new ByteArrayInputStream(new byte[1]);
+
+        assertThrows(IllegalArgumentException.class, () -> new ReadAheadInputStream(source, 0, 2));
+        assertThrows(IllegalArgumentException.class, () -> new ReadAheadInputStream(source, 4, 0));
+    }
+
+    @Test
+    void runtimeFailureIsWrapped() throws IOException {
+        IllegalStateException failure = new IllegalStateException("test");
+        InputStream source = new InputStream() {
+            @Override
+            public int read() {
+                throw failure;
+            }
+        };
+        try (InputStream in = new ReadAheadInputStream(source, 4, 2)) {
+            IOException error = assertThrows(IOException.class, in::read);
+            assertThat(error.getCause(), sameInstance(failure));
+        }
+    }
+
+    @Test
+    void emptySourceEndsImmediately() throws IOException {
+        try (InputStream in = new ReadAheadInputStream(new ByteArrayInputStream(new byte[0]))) {
+            assertThat(in.read(), is(-1));
+            assertThat(in.read(new byte[1], 0, 1), is(-1));
+        }
+    }
+
+    @Test
+    void failureIsPassedAfterBytesReadBefore() throws IOException {
+        IOException failure = new IOException("test");
+        InputStream source = new InputStream() {
+            private int count;
+
+            @Override
+            public int read() throws IOException {
+                if (count == 5) {
+                    throw failure;
+                }
+                return 'a' + count++;
+            }
+        };
+        try (InputStream in = new ReadAheadInputStream(source, 4, 2)) {
+            byte[] buffer = new byte[10];
+
+            assertThat(in.read(buffer, 0, 10), is(4));
+            assertThat(in.read(buffer, 4, 6), is(1));
+            assertThat(new String(buffer, 0, 5, "US-ASCII"), is("abcde"));
+            IOException error = assertThrows(IOException.class, in::read);
+            assertThat(error, sameInstance(failure));
+            assertThrows(IOException.class, in::read);
+        }
+    }
+
+    @Test
+    void closeStopsReadingAndClosesSource() throws IOException, InterruptedException {
+        CountDownLatch closed = new CountDownLatch(1);
+        InputStream endless = new InputStream() {
+            @Override
+            public int read() {
+                return 'x';
+            }
+
+            @Override
+            public void close() {
+                closed.countDown();
+            }
+        };
+        InputStream in = new ReadAheadInputStream(endless, 16, 2);
+        assertThat(in.read(), is((int) 'x'));
+        in.close();
+        in.close();
+
+        assertThat(closed.await(1, TimeUnit.SECONDS), is(true));
+        assertThrows(IOException.class, in::read);
+    }
+
+    @Test
+    void backgroundThreadDoesNotKeepJvmAlive() {
+        Thread thread = ReadAheadInputStream.newThread(() -> { });
+
+        assertThat(thread.isDaemon(), is(true));
+        assertThat(thread.isAlive(), is(false));
+    }
+}
@@ -1,16 +1,28 @@
 package diergo.csv;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mockito;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Reader;
 import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.stream.Stream;
 
+import static diergo.csv.CsvParserBuilder.csvParser;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.stream.Collectors.toList;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -30,6 +42,32 @@ class ReadersTest {
         assertThat(lines.collect(toList()), hasItems("one", "two"));
     }
 
+    @Test
+    void mappedFileAsLines(@TempDir Path folder) throws IOException {
+        Path file = Files.write(folder.resolve("test.txt"), "one\ntwo".getBytes(UTF_8));
+        try (Reader in = Readers.mapped(file, UTF_8)) {
+            assertThat(Readers.asLines(in).collect(toList()), contains("one", "two"));
+        }
+    }
+
+    @Test
+    void gzippedDataIsDecompressed() throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (Writer out = Appendables.buffered(Appendables.gzipped(compressed, 16), UTF_8)) {
+            for (int i = 0; i < 1000; i++) {
+                out.write("a,b," + i + "\n");
+            }
+        }
+        try (InputStream in = Readers.gzipped(new ByteArrayInputStream(compressed.toByteArray()), 16)) {
+            assertThat(csvParser().separatedBy(',').parse(in, UTF_8).mapToInt(row -> row.getInt(2)).sum(), is(499500));
+        }
+    }
+
+    @Test
+    void gzippedHeaderIsReadImmediately() {
+        assertThrows(IOException.class, () -> Readers.gzipped(new ByteArrayInputStream("a,b".getBytes(UTF_8))));
+    }
+
     @Test
     void onCloseClosesReaderWhenRun() throws IOException {
         Reader in = mock(Reader.class);
@@ -43,4 +81,39 @@ class ReadersTest {
         Mockito.doThrow(new IOException()).when(in).close();
         assertThrows(IllegalStateException.class, () -> Readers.closeHandler(in).run());
     }
-}
\ No newline at end of file
+
+    @Test
+    void onCloseClosesInputStreamWhenRun() throws IOException {
+        InputStream in = mock(InputStream.class);
+        Readers.closeHandler(in).run();
+        verify(in).close();
+    }
+
+    @Test
+    void onCloseHidesInputStreamExceptionWhenRun() throws IOException {
+        InputStream in = mock(InputStream.class);
+        Mockito.doThrow(new IOException()).when(in).close();
+        assertThrows(IllegalStateException.class, () -> Readers.closeHandler(in).run());
+    }
+
+    @Test
+    void readingAheadParsesAllRows() {
+        StringBuilder data = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            data.append(i).append(",x\n");
+        }
+        try (Stream<Row> rows = csvParser().separatedBy(',').parse(Readers.readingAhead(new ByteArrayInputStream(data.toString().getBytes(UTF_8)), 64, 2), UTF_8)) {
+            assertThat(rows.mapToInt(row -> row.getInt(0)).sum(), is(499500));
+        }
+    }
+
+    @Test
+    void readingAheadFailureIsThrownByParser() throws IOException {
+        InputStream failing = mock(InputStream.class);
+        Mockito.when(failing.read(Mockito.any(byte[].class), Mockito.anyInt(), Mockito.anyInt())).thenThrow(new IOException("test"));
+        try (Stream<Row> rows = csvParser().parse(Readers.readingAhead(failing), UTF_8)) {
+            assertThrows(UncheckedIOException.class, rows::count);
+        }
+        verify(failing).close();
+    }
+}
@@ -0,0 +1,81 @@
+package diergo.csv;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.nio.charset.StandardCharsets.UTF_16;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+class RecordBoundariesTest {
+
+    @ParameterizedTest(name = "nextRecordStartIsFound({arguments})")
+    @CsvSource(delimiter = '|', value = {
+            "a,b\\nc,d|1|4",
+            "a,b\\r\\nc,d|1|5",
+            "a,\"b\\nc\",d\\ne|4|10",
+            "a,\"b\\nc\",d\\ne|2|10",
+            "a,\"\"\"b\\n\"\"c\"\"\",d\\ne|5|16",
+            "a,\"b\\nc\\nd\",\"\"\\ne|5|13",
+            "x\\n#a\"b\\n\"c\\nd\",e\\nf|1|15",
+    })
+    void nextRecordStartIsFound(String data, int from, int expected) {
+        assertThat(boundaries("#").next(bytes(data), from), is(expected));
+    }
+
+    @ParameterizedTest(name = "quotesBeforeStartAreCounted({arguments})")
+    @CsvSource(delimiter = '|', value = {
+            "a,\"b \"\"\\nc\"\\nd|6|11",
+            "\"\"\\nc\"\\nd|1|6",
+            "\"\"\"\\nc\"\\nd|2|7",
+    })
+    void quotesBeforeStartAreCounted(String data, int from, int expected) {
+        assertThat(boundaries(null).next(bytes(data), from), is(expected));
+    }
+
+    @ParameterizedTest(name = "undeterminedRecordStartIsNotFound({arguments})")
+    @CsvSource(delimiter = '|', value = {
+            "a,b|1",
+            "a,\"\",\"\"\\nb|1",
+            "a,b\\r|1",
+            "a,\"b|3",
+    })
+    void undeterminedRecordStartIsNotFound(String data, int from) {
+        assertThat(boundaries(null).next(bytes(data), from), is(-1));
+    }
+
+    @Test
+    void boundariesNeedSingleByteCharacters() {
+        assertThat(RecordBoundaries.of(',', parser(null, false), UTF_8), notNullValue());
+        assertThat(RecordBoundaries.of(',', parser(null, false), ISO_8859_1), notNullValue());
+        assertThat(RecordBoundaries.of(',', parser(null, false), Charset.forName("windows-1252")), notNullValue());
+        assertThat(RecordBoundaries.of(',', parser(null, false), UTF_16), nullValue());
+        assertThat(RecordBoundaries.of('§', parser(null, false), UTF_8), nullValue());
+    }
+
+    @Test
+    void boundariesCannotBeFoundInLaxMode() {
+        assertThat(RecordBoundaries.of(',', parser(null, true), UTF_8), nullValue());
+    }
+
+    private static ByteBuffer bytes(String data) {
+        return ByteBuffer.wrap(data.replace("\\n", "\n").replace("\\r", "\r").getBytes(UTF_8));
+    }
+
+    private static RecordBoundaries boundaries(String commentStart) {
+        return RecordBoundaries.of(',', parser(commentStart, false), UTF_8);
+    }
+
+    private static RowParser parser(String commentStart, boolean laxMode) {
+        return new RowParser(",", '"', commentStart, laxMode, (line, error) -> (List<Row>) null);
+    }
+}
@@ -0,0 +1,153 @@
+package diergo.csv;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.function.Supplier;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RecordCellsTest {
+
+    private static final char[] RECORD = "xx,a,\"b\"\"c\",\"d\r\ne\"".toCharArray();
+    private static final int[] BOUNDS = {3, 4, 5, 11, 12, 18};
+
+    @Test
+    void cellsAreMaterialisedFromOffsets() {
+        RecordCells row = new RecordCells('"', true).reset(RECORD, 0, BOUNDS, 3);
+
+        assertThat(row.getLength(), is(3));
+        assertThat(row.isComment(), is(false));
+        assertThat(row, contains("a", "b\"c", "d\ne"));
+    }
+
+    @Test
+    void lineBreaksAreKeptInLineMode() {
+        RecordCells row = new RecordCells('"', false).reset(RECORD, 0, BOUNDS, 3);
+
+        assertThat(row.get(2), is("d\r\ne"));
+    }
+
+    @Test
+    void offsetsAreRelativeToStart() {
+        RecordCells row = new RecordCells('"', true).reset(RECORD, 3, new int[]{0, 1, 9, 15}, 2);
+
+        assertThat(row, contains("a", "d\ne"));
+    }
+
+    @Test
+    void resetReusesInstance() {
+        RecordCells row = new RecordCells('"', true);
+
+        assertThat(row.reset(RECORD, 0, BOUNDS, 1), sameInstance(row));
+        assertThat(row, contains("a"));
+        assertThat(row.reset(RECORD, 0, new int[]{0, 2}, 1), sameInstance(row));
+        assertThat(row, contains("xx"));
+    }
+
+    @Test
+    void onlyCellsInRangeAreAccessible() {
+        RecordCells row = new RecordCells('"', true).reset(RECORD, 0, BOUNDS, 2);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> assertThat(row.get(2), is("")));
+    }
+
+    @Test
+    void cellsAreAccessedByIndex() {
+        RecordCells row = new RecordCells('"', true).reset(RECORD, 0, BOUNDS, 3);
+
+        assertThat(row.get(1), is("b\"c"));
+        assertThat(row.contentEquals(0, "a"), is(true));
+        assertThat(row.contentEquals(0, "ab"), is(false));
+        assertThat(row.contentEquals(1, "b\"c"), is(true));
+        assertThat(row.contentEquals(1, "b\"\"c"), is(false));
+    }
+
+    @Test
+    void cellsAreViewedAsCharacterSequences() {
+        RecordCells row = new RecordCells('"', true).reset(RECORD, 0, BOUNDS, 3);
+
+        CharSequence quoted = row.sequence(1);
+        assertThat(quoted.toString(), is("b\"c"));
+        CharSequence unquoted = row.sequence(0);
+        assertThat(unquoted.length(), is(1));
+        assertThat(unquoted.charAt(0), is('a'));
+        assertThat(unquoted.toString(), is("a"));
+        assertThat(row.sequence(0) == row.sequence(0), is(true));
+    }
+
+    @Test
+    void emptyCellsAreDetected() {
+        RecordCells row = cells(",\"\",a,\" \"");
+
+        assertThat(row.isEmpty(0), is(true));
+        assertThat(row.isEmpty(1), is(true));
+        assertThat(row.isEmpty(2), is(false));
+        assertThat(row.isEmpty(3), is(false));
+    }
+
+    @Test
+    void numbersAreParsedInPlace() {
+        RecordCells row = cells("42,-7,+123456789,9876543210,\"12\",-0.25,1.5e3,0.1,.5,123456789012345678901");
+
+        assertThat(row.getInt(0), is(42));
+        assertThat(row.getInt(1), is(-7));
+        assertThat(row.getInt(2), is(123456789));
+        assertThat(row.getLong(3), is(9876543210L));
+        assertThat(row.getInt(4), is(12));
+        assertThat(row.getDouble(5), is(-0.25));
+        assertThat(row.getDouble(6), is(1500.0));
+        assertThat(row.getDouble(7), is(0.1));
+        assertThat(row.getDouble(8), is(0.5));
+        assertThat(row.getDouble(9), is(123456789012345678901.0));
+        assertThrows(NumberFormatException.class, () -> row.getInt(3));
+        assertThrows(NumberFormatException.class, () -> row.getLong(9));
+    }
+
+    @ParameterizedTest(name = "numbersAreParsedLikeTheJdk({arguments})")
+    @ValueSource(strings = {"0", "-0", "2147483647", "-2147483648", "2147483648", "9223372036854775807", "-9223372036854775808",
+            "0.3", "3.14159265358979", "-123.456", "1.", "x", "-", "+", "", "1-2", " 1", "NaN", "1e-3", "999999999999999.9"})
+    void numbersAreParsedLikeTheJdk(String value) {
+        RecordCells row = cells(value);
+
+        assertThat(result(() -> row.getInt(0)), is(result(() -> Integer.parseInt(value))));
+        assertThat(result(() -> row.getLong(0)), is(result(() -> Long.parseLong(value))));
+        assertThat(result(() -> row.getDouble(0)), is(result(() -> Double.parseDouble(value))));
+    }
+
+    @Test
+    void rowsWithSameCellsAreEqual() {
+        RecordCells row = new RecordCells('"', true).reset(RECORD, 0, BOUNDS, 3);
+        Cells cells = new Cells("a", "b\"c", "d\ne");
+
+        assertThat(row, is(cells));
+        assertThat(cells, is(row));
+        assertThat(row.hashCode(), is(cells.hashCode()));
+        assertThat(row.hashCode(), is(asList("a", "b\"c", "d\ne").hashCode()));
+        assertThat(row.toString(), is(cells.toString()));
+        assertThat(row, not(new Cells("a", "b\"c")));
+        assertThat(new Cells("a"), not(new Comment("a")));
+    }
+
+    private static RecordCells cells(String line) {
+        RecordScanner scanner = new RecordScanner(',', '"', null, false, false);
+        char[] chars = line.toCharArray();
+        scanner.scan(chars, 0, chars.length, true);
+        return (RecordCells) scanner.toRow(chars, 0);
+    }
+
+    private static Object result(Supplier<Object> parsing) {
+        try {
+            return parsing.get();
+        } catch (NumberFormatException e) {
+            return NumberFormatException.class;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package diergo.csv;
+
+import org.junit.jupiter.api.Test;
+
+import static diergo.csv.CsvParserBuilder.csvParser;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RecordLimitsTest {
+
+    @Test
+    void noLimitsAreMaximal() {
+        assertThat(RecordLimits.NONE.maxLength, is(Integer.MAX_VALUE));
+        assertThat(RecordLimits.NONE.maxCells, is(Integer.MAX_VALUE));
+        assertThat(RecordLimits.NONE.maxLines, is(Integer.MAX_VALUE));
+    }
+
+    @Test
+    void limitsAreSetOneByOne() {
+        RecordLimits limits = RecordLimits.NONE.withLength(100).withCells(10).withLines(2);
+
+        assertThat(limits.maxLength, is(100));
+        assertThat(limits.maxCells, is(10));
+        assertThat(limits.maxLines, is(2));
+    }
+
+    @Test
+    void limitsMustBePositive() {
+        assertThrows(IllegalArgumentException.class, () -> csvParser().limitingRecordLength(0));
+        assertThrows(IllegalArgumentException.class, () -> csvParser().limitingCells(-1));
+        assertThrows(IllegalArgumentException.class, () -> csvParser().limitingLines(0));
+    }
+}
@@ -0,0 +1,85 @@
+package diergo.csv;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.joining;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+class RowAppenderTest {
+
+    private final RowPrinter printer = new RowPrinter(',', '"', "#");
+
+    @Test
+    void eachRowIsAppendedAsLine() {
+        StringBuilder out = new StringBuilder();
+        Stream.of(new Cells("a", "b,c"), new Comment("d"), new Cells()).forEachOrdered(new RowAppender(printer, out, "\r\n"));
+
+        assertThat(out.toString(), is("a,\"b,c\"\r\n#d\r\n\r\n"));
+    }
+
+    @Test
+    void writerGetsLongLines() {
+        StringWriter out = new StringWriter();
+        String cell = IntStream.range(0, 100).mapToObj(Integer::toString).collect(joining());
+        Stream.of(new Cells("a"), new Cells(cell, cell), new Cells("b")).forEachOrdered(new RowAppender(printer, out, "\n"));
+
+        assertThat(out.toString(), is("a\n" + cell + "," + cell + "\nb\n"));
+    }
+
+    @Test
+    void bufferedSinkGetsRowsPrintedDirectly() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (Writer out = Appendables.buffered(bytes, UTF_8)) {
+            Stream.of(new Cells("ä", "b,c"), new Comment("d")).forEachOrdered(new RowAppender(printer, out, "\n"));
+        }
+
+        assertThat(bytes.toString(UTF_8.name()), is("ä,\"b,c\"\n#d\n"));
+    }
+
+    @Test
+    void closedBufferedSinkFails() throws IOException {
+        Writer out = Appendables.buffered(new ByteArrayOutputStream(), UTF_8);
+        out.close();
+        RowAppender appender = new RowAppender(printer, out, "\n");
+
+        assertThrows(UncheckedIOException.class, () -> appender.accept(new Cells("a")));
+    }
+
+    @Test
+    void parallelRowsAreAppendedAsWholeLines() {
+        StringBuffer out = new StringBuffer();
+        IntStream.range(0, 1000).parallel().mapToObj(i -> new Cells(Integer.toString(i), "x\"" + i))
+                .forEach(new RowAppender(printer, out, "\n"));
+
+        String[] lines = out.toString().split("\n");
+        assertThat(lines.length, is(1000));
+        for (String line : lines) {
+            String number = line.substring(0, line.indexOf(','));
+            assertThat(line, is(number + ",\"x\"\"" + number + "\""));
+        }
+    }
+
+    @Test
+    void ioExceptionIsWrappedToUnchecked() throws IOException {
+        Writer out = mock(Writer.class);
+        doThrow(new IOException("test")).when(out).write(any(char[].class), anyInt(), anyInt());
+        RowAppender appender = new RowAppender(printer, out, "\n");
+
+        assertThrows(UncheckedIOException.class, () -> appender.accept(new Cells("a")));
+    }
+}
@@ -16,6 +16,7 @@ import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -72,6 +73,8 @@ class RowParserTest {
         verify(errorHandler).apply(line.capture(), error.capture());
         assertThat(error.getValue(), instanceOf(IllegalArgumentException.class));
         assertThat(error.getValue().getMessage(), Matchers.containsString("0:2"));
+        assertThat(((CsvParseException) error.getValue()).getKind(), is(CsvParseException.Kind.UNQUOTED_QUOTE));
+        assertThat(((CsvParseException) error.getValue()).getColumn(), is(2));
         assertThat(line.getValue(), is("hi\"ho"));
     }
 
@@ -102,6 +105,76 @@ class RowParserTest {
         }
     }
 
+    @Test
+    void selectedColumnsAreReturnedOnly() {
+        parser = new RowParser(",", '"', "#", false, false, false, ColumnSelection.byIndex(2, 0, 5), null, errorHandler);
+
+        assertThat(parser.apply("a,\"b,\",\"c\"\"\",d"), is(singletonList(new Cells("c\"", "a", ""))));
+        assertThat(parser.apply("#a,b,c"), is(singletonList(new Comment("a,b,c"))));
+    }
+
+    @Test
+    void rowsAreNotChangedByLaterLines() {
+        parser = new RowParser(",", '"', "#", false, false, false, ColumnSelection.byIndex(1), null, errorHandler);
+
+        List<Row> first = parser.apply("a,\"b,c\",d");
+        List<Row> second = parser.apply("1,\"much longer than the line before\",2");
+
+        assertThat(first, is(singletonList(new Cells("b,c"))));
+        assertThat(second, is(singletonList(new Cells("much longer than the line before"))));
+    }
+
+    @Test
+    void columnsSelectedByNameAreResolvedFromHeader() {
+        parser = new RowParser(",", '"', "#", false, false, false, ColumnSelection.byName("c", "a"), null, errorHandler);
+
+        assertThat(parser.apply("#comment"), is(singletonList(new Comment("comment"))));
+        assertThat(parser.apply("a,b,c"), is(singletonList(new Cells("c", "a"))));
+        assertThat(parser.apply("1,2,3"), is(singletonList(new Cells("3", "1"))));
+    }
+
+    @Test
+    void filteredRowsAreSkippedAndHeaderIsKept() {
+        CellFilter filter = new CellFilter().and(ColumnSelection.byName("country"), "DE"::contentEquals);
+        parser = new RowParser(",", '"', "#", false, false, false, ColumnSelection.byIndex(0), filter, errorHandler);
+
+        assertThat(parser.apply("id,country"), is(singletonList(new Cells("id"))));
+        assertThat(parser.apply("1,FR"), is(emptyList()));
+        assertThat(parser.apply("2,DE,\"x"), is(emptyList()));
+        assertThat(parser.apply("\""), is(singletonList(new Cells("2"))));
+        assertThat(parser.apply("#FR"), is(singletonList(new Comment("FR"))));
+    }
+
+    @Test
+    void joinedLinesExceedingLengthAreErroneous() {
+        when(errorHandler.apply(anyString(), any(IllegalArgumentException.class))).thenReturn(emptyList());
+        parser = new RowParser(",", '"', null, false, false, false, null, null, errorHandler, null, RecordLimits.NONE.withLength(8));
+
+        assertThat(parser.apply("a,\"b"), is(emptyList()));
+        assertThat(parser.apply("cdefgh"), is(emptyList()));
+        assertThat(parser.apply("i,j"), is(singletonList(new Cells("i", "j"))));
+
+        ArgumentCaptor<RuntimeException> error = ArgumentCaptor.forClass(RuntimeException.class);
+        verify(errorHandler).apply(eq("a,\"b\ncdefgh"), error.capture());
+        assertThat(((CsvParseException) error.getValue()).getKind(), is(CsvParseException.Kind.RECORD_TOO_LONG));
+        assertThat(((CsvParseException) error.getValue()).getColumn(), is(8));
+    }
+
+    @Test
+    void joinedLinesExceedingLinesAreErroneous() {
+        when(errorHandler.apply(anyString(), any(IllegalArgumentException.class))).thenReturn(emptyList());
+        parser = new RowParser(",", '"', null, false, false, false, null, null, errorHandler, null, RecordLimits.NONE.withLines(2));
+
+        assertThat(parser.apply("\"a"), is(emptyList()));
+        assertThat(parser.apply("b"), is(emptyList()));
+        assertThat(parser.apply("c\""), is(emptyList()));
+        assertThat(parser.apply("d"), is(singletonList(new Cells("d"))));
+
+        ArgumentCaptor<RuntimeException> error = ArgumentCaptor.forClass(RuntimeException.class);
+        verify(errorHandler).apply(eq("\"a\nb\nc\""), error.capture());
+        assertThat(((CsvParseException) error.getValue()).getKind(), is(CsvParseException.Kind.TOO_MANY_LINES));
+    }
+
     @BeforeEach
     @SuppressWarnings("unchecked")
     void createErrorHandler() {
@@ -2,7 +2,10 @@ package diergo.csv;
 
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 class RowPrinterTest {
@@ -32,6 +35,21 @@ class RowPrinterTest {
         assertThat(printRow(new Comment("what?"), "#"), is("#what?"));
     }
 
+    @Test
+    void parsedCellsArePrintedFromWindow() throws IOException {
+        RecordCells row = new RecordCells('"', true).reset("xx,a,\"b\"\"c\",\"d\r\ne\"".toCharArray(), 0, new int[]{3, 4, 5, 11, 12, 18}, 3);
+
+        assertThat(new RowPrinter(';', '"', null).printTo(row, new StringBuilder()).toString(), is("a;\"b\"\"c\";\"d\ne\""));
+    }
+
+    @Test
+    void rowIsAppendedWithoutLineSeparator() throws IOException {
+        StringBuilder out = new StringBuilder("x\n");
+
+        assertThat(new RowPrinter(',', '\'', null).printTo(new Cells("a'b'", "c"), out), sameInstance(out));
+        assertThat(out.toString(), is("x\n'a''b''',c"));
+    }
+
     private String printRow(Row row) {
         return printRow(row, null);
     }
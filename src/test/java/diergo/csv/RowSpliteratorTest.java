@@ -0,0 +1,248 @@
+package diergo.csv;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.ArgumentCaptor;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.StreamSupport.stream;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RowSpliteratorTest {
+
+    private BiFunction<String, RuntimeException, List<Row>> errorHandler;
+
+    @Test
+    void emptyInputHasNoRows() {
+        assertThat(parse(""), empty());
+    }
+
+    @Test
+    void eachLineIsARow() {
+        assertThat(parse("a,b\nc,d"), is(asList(new Cells("a", "b"), new Cells("c", "d"))));
+    }
+
+    @ParameterizedTest(name = "anyLineBreakEndsARow({arguments})")
+    @ValueSource(strings = {"\n", "\r", "\r\n"})
+    void anyLineBreakEndsARow(String lineBreak) {
+        assertThat(parse("a,b" + lineBreak + "c" + lineBreak), is(asList(new Cells("a", "b"), new Cells("c"))));
+    }
+
+    @Test
+    void blankLinesAreEmptyRows() {
+        assertThat(parse("a\n\n \nb"), is(asList(new Cells("a"), new Cells(), new Cells(), new Cells("b"))));
+    }
+
+    @Test
+    void quotedCellsAreUnquoted() {
+        assertThat(parse("\"\"\"hi\"\"ho\"\"\",\"hi,ho\",\"\""), is(asList(new Cells("\"hi\"ho\"", "hi,ho", ""))));
+    }
+
+    @ParameterizedTest(name = "lineBreaksInQuotedCellsAreNormalized({arguments})")
+    @ValueSource(strings = {"\n", "\r", "\r\n"})
+    void lineBreaksInQuotedCellsAreNormalized(String lineBreak) {
+        assertThat(parse("\"hi," + lineBreak + "ho\",x" + lineBreak + "y"),
+                is(asList(new Cells("hi,\nho", "x"), new Cells("y"))));
+    }
+
+    @Test
+    void commentsAreReadAsSingleColumns() {
+        assertThat(parse(",", "#", "#comment,no columns\r\na,b\n#"),
+                is(asList(new Comment("comment,no columns"), new Cells("a", "b"), new Comment(""))));
+    }
+
+    @Test
+    void recordsLongerThanTheBufferAreRead() {
+        StringBuilder cell = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            cell.append("line ").append(i).append("\r\n");
+        }
+        String quoted = '"' + cell.toString() + '"';
+        assertThat(parse(quoted + ',' + quoted + "\r\nx"), is(asList(
+                new Cells(cell.toString().replace("\r\n", "\n"), cell.toString().replace("\r\n", "\n")), new Cells("x"))));
+    }
+
+    @Test
+    void separatorIsDeterminedFromFirstLineWithData() {
+        assertThat(parse(",;", "#", "\n#a,b,c\nc;d;e,f\ng;h"),
+                is(asList(new Cells(), new Comment("a,b,c"), new Cells("c", "d", "e,f"), new Cells("g", "h"))));
+    }
+
+    @Test
+    void illegalLineDelegatesToErrorHandler() {
+        Comment handled = new Comment("error");
+        when(errorHandler.apply(anyString(), any(IllegalArgumentException.class)))
+                .thenReturn(asList(handled, handled));
+        assertThat(parse("a\n\"b\r\nc\",d\"e\r\nf"), is(asList(new Cells("a"), handled, handled, new Cells("f"))));
+
+        ArgumentCaptor<RuntimeException> error = ArgumentCaptor.forClass(RuntimeException.class);
+        ArgumentCaptor<String> line = ArgumentCaptor.forClass(String.class);
+        verify(errorHandler).apply(line.capture(), error.capture());
+        assertThat(error.getValue().getMessage(), containsString("1:8"));
+        assertThat(line.getValue(), is("\"b\nc\",d\"e"));
+        CsvParseException parseError = (CsvParseException) error.getValue();
+        assertThat(parseError.getKind(), is(CsvParseException.Kind.UNQUOTED_QUOTE));
+        assertThat(parseError.getLine(), is(1));
+        assertThat(parseError.getColumn(), is(8));
+        assertThat(parseError.getOffset(), is(10L));
+    }
+
+    @Test
+    void errorHandlingWithNoResultingRowIsHandledProperly() {
+        when(errorHandler.apply(anyString(), any(IllegalArgumentException.class)))
+                .thenReturn(emptyList());
+        assertThat(parse("a\"b\nc\"d\ne"), is(asList(new Cells("e"))));
+    }
+
+    @Test
+    void quotedCellNotClosedAtEndOfInputDelegatesToErrorHandler() {
+        when(errorHandler.apply(anyString(), any(IllegalArgumentException.class)))
+                .thenReturn(emptyList());
+        assertThat(parse("a\n\"b\nc"), is(asList(new Cells("a"))));
+
+        ArgumentCaptor<String> line = ArgumentCaptor.forClass(String.class);
+        verify(errorHandler).apply(line.capture(), any(IllegalArgumentException.class));
+        assertThat(line.getValue(), is("\"b\nc"));
+    }
+
+    @Test
+    void reusedRowReferencesCurrentRecord() {
+        RowParser parser = new RowParser(",", '"', "#", false, false, true, null, null, errorHandler);
+        RowSpliterator rows = new RowSpliterator(new StringReader("a,\"b\nc\"\n#d\ne,f"), parser, 4);
+        List<Row> seen = new ArrayList<>();
+        List<String> content = new ArrayList<>();
+        rows.forEachRemaining(row -> {
+            seen.add(row);
+            content.add(row.toString());
+        });
+
+        assertThat(content, is(asList("[a, b\nc]", "#d", "[e, f]")));
+        assertThat(seen.get(0) == seen.get(2), is(true));
+    }
+
+    @Test
+    void selectedColumnsAreCopiedOnly() {
+        RowParser parser = new RowParser(",", '"', "#", false, false, false, ColumnSelection.byName("c", "a"), null, errorHandler);
+        List<Row> rows = stream(new RowSpliterator(new StringReader("#x\na,b,c\n1,\"2\n\",\"3\r\n\"\n\n4"), parser, 4), false)
+                .collect(toList());
+
+        assertThat(rows, is(asList(new Comment("x"), new Cells("c", "a"), new Cells("3\n", "1"), new Cells(), new Cells("", "4"))));
+    }
+
+    @Test
+    void filteredRecordsAreSkipped() {
+        CellFilter filter = new CellFilter().and(ColumnSelection.byIndex(1), cell -> cell.length() == 2 && cell.charAt(0) == 'D');
+        RowParser parser = new RowParser(",", '"', "#", false, false, true, null, filter, errorHandler);
+        RowSpliterator rows = new RowSpliterator(new StringReader("1,FR\n#c\n2,DE\n3,\"D\n\"\n\n4,DK"), parser, 4);
+        List<String> content = new ArrayList<>();
+        rows.forEachRemaining(row -> content.add(row.toString()));
+
+        assertThat(content, is(asList("#c", "[2, DE]", "[3, D\n]", "[]", "[4, DK]")));
+    }
+
+    @Test
+    void ioExceptionIsWrappedToUnchecked() throws IOException {
+        Reader in = mock(Reader.class);
+        when(in.read(any(char[].class), any(int.class), any(int.class))).thenThrow(new IOException("test"));
+        RowSpliterator rows = new RowSpliterator(in, new RowParser(",", '"', null, false, errorHandler));
+
+        assertThrows(UncheckedIOException.class, () -> rows.tryAdvance(row -> { }));
+    }
+
+    @Test
+    void spliteratorIsOrderedAndCannotBeSplit() {
+        RowSpliterator rows = new RowSpliterator(new StringReader(""), new RowParser(",", '"', null, false, errorHandler));
+
+        assertThat(rows.trySplit() == null, is(true));
+        assertThat(rows.hasCharacteristics(RowSpliterator.ORDERED), is(true));
+        assertThat(rows.estimateSize(), is(Long.MAX_VALUE));
+    }
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void createErrorHandler() {
+        errorHandler = mock(BiFunction.class);
+    }
+
+    @Test
+    void recordExceedingLengthIsSkippedToNextLine() {
+        when(errorHandler.apply(anyString(), any(IllegalArgumentException.class))).thenReturn(emptyList());
+        assertThat(parse(RecordLimits.NONE.withLength(8), "a,b\n\"cdefghijklmnop\nq\nr,s"),
+                is(asList(new Cells("a", "b"), new Cells("q"), new Cells("r", "s"))));
+
+        ArgumentCaptor<RuntimeException> error = ArgumentCaptor.forClass(RuntimeException.class);
+        verify(errorHandler).apply(eq("\"cdefghi"), error.capture());
+        CsvParseException parseError = (CsvParseException) error.getValue();
+        assertThat(parseError.getKind(), is(CsvParseException.Kind.RECORD_TOO_LONG));
+        assertThat(parseError.getLine(), is(1));
+        assertThat(parseError.getOffset(), is(12L));
+    }
+
+    @Test
+    void unclosedQuoteDoesNotKeepInputBeyondLength() {
+        when(errorHandler.apply(anyString(), any(IllegalArgumentException.class))).thenReturn(emptyList());
+        StringBuilder data = new StringBuilder("a\n\"");
+        for (int i = 0; i < 10000; i++) {
+            data.append("bcdefghijklmnopqrstuvwxyz");
+        }
+        RowParser parser = new RowParser(",", '"', null, false, false, false, null, null, errorHandler, null, RecordLimits.NONE.withLength(16));
+        RowSpliterator rows = new RowSpliterator(new StringReader(data.append("\nc").toString()), parser, 4);
+
+        assertThat(stream(rows, false).collect(toList()), is(asList(new Cells("a"), new Cells("c"))));
+        verify(errorHandler).apply(eq("\"bcdefghijklmnop"), any(CsvParseException.class));
+    }
+
+    @Test
+    void recordWithTooManyCellsIsSkipped() {
+        when(errorHandler.apply(anyString(), any(IllegalArgumentException.class))).thenReturn(emptyList());
+        assertThat(parse(RecordLimits.NONE.withCells(2), "a,b\nc,d,e\nf"), is(asList(new Cells("a", "b"), new Cells("f"))));
+
+        verify(errorHandler).apply(eq("c,d,e"), any(CsvParseException.class));
+    }
+
+    @Test
+    void recordSpanningTooManyLinesIsSkippedToExceedingLine() {
+        when(errorHandler.apply(anyString(), any(IllegalArgumentException.class))).thenReturn(emptyList());
+        assertThat(parse(RecordLimits.NONE.withLines(2), "\"a\r\nb\r\nc,d\ne"), is(asList(new Cells("c", "d"), new Cells("e"))));
+
+        ArgumentCaptor<RuntimeException> error = ArgumentCaptor.forClass(RuntimeException.class);
+        verify(errorHandler).apply(eq("\"a\nb"), error.capture());
+        assertThat(((CsvParseException) error.getValue()).getKind(), is(CsvParseException.Kind.TOO_MANY_LINES));
+    }
+
+    private List<Row> parse(RecordLimits limits, String data) {
+        RowParser parser = new RowParser(",", '"', null, false, false, false, null, null, errorHandler, null, limits);
+        return stream(new RowSpliterator(new StringReader(data), parser, 4), false).collect(toList());
+    }
+
+    private List<Row> parse(String data) {
+        return parse(",", null, data);
+    }
+
+    private List<Row> parse(CharSequence separators, String commentStart, String data) {
+        RowParser parser = new RowParser(separators, '"', commentStart, false, errorHandler);
+        return stream(new RowSpliterator(new StringReader(data), parser, 4), false).collect(toList());
+    }
+}
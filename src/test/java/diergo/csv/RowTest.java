@@ -0,0 +1,70 @@
+package diergo.csv;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RowTest {
+
+    private final Row row = new Row() {
+        @Override
+        public boolean isComment() {
+            return false;
+        }
+
+        @Override
+        public int getLength() {
+            return 5;
+        }
+
+        @Override
+        public Iterator<String> iterator() {
+            return asList("a", "", null, "42", "-1.5").iterator();
+        }
+    };
+
+    @Test
+    void cellsAreAccessedByIndex() {
+        assertThat(row.get(0), is("a"));
+        assertThat(row.get(2), nullValue());
+        assertThat(row.get(4), is("-1.5"));
+        assertThrows(IndexOutOfBoundsException.class, () -> assertThat(row.get(5), nullValue()));
+        assertThrows(IndexOutOfBoundsException.class, () -> assertThat(row.get(-1), nullValue()));
+    }
+
+    @Test
+    void emptyOrNullCellsAreEmpty() {
+        assertThat(row.isEmpty(0), is(false));
+        assertThat(row.isEmpty(1), is(true));
+        assertThat(row.isEmpty(2), is(true));
+    }
+
+    @Test
+    void contentIsCompared() {
+        assertThat(row.contentEquals(0, new StringBuilder("a")), is(true));
+        assertThat(row.contentEquals(1, "a"), is(false));
+        assertThat(row.contentEquals(2, ""), is(false));
+    }
+
+    @Test
+    void numbersAreParsed() {
+        assertThat(row.getInt(3), is(42));
+        assertThat(row.getLong(3), is(42L));
+        assertThat(row.getDouble(4), is(-1.5));
+        assertThrows(NumberFormatException.class, () -> assertThat(row.getInt(0), nullValue()));
+        assertThrows(NumberFormatException.class, () -> assertThat(row.getDouble(2), nullValue()));
+    }
+
+    @Test
+    void cellsAndCommentsAreAccessedByIndex() {
+        assertThat(new Cells("a", "1").getInt(1), is(1));
+        assertThat(new Comment("text").get(0), is("text"));
+        assertThrows(IndexOutOfBoundsException.class, () -> assertThat(new Comment("text").get(1), nullValue()));
+    }
+}
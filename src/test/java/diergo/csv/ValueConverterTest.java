@@ -0,0 +1,47 @@
+package diergo.csv;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ValueConverterTest {
+
+    @Test
+    void convertersAreShared() {
+        assertThat(ValueConverter.of(String.class), sameInstance(ValueConverter.STRING));
+        assertThat(ValueConverter.of(Integer.class), sameInstance(ValueConverter.of(Integer.class)));
+    }
+
+    @Test
+    void enumConstantsAreLookedUp() {
+        assertThat(ValueConverter.of(TimeUnit.class).parse("SECONDS"), is(TimeUnit.SECONDS));
+    }
+
+    @Test
+    void unsupportedTypeFailsOnConversion() {
+        ValueConverter converter = ValueConverter.of(Row.class);
+        assertThrows(IllegalArgumentException.class, () -> converter.parse("a"));
+    }
+
+    @Test
+    void numbersAreReadByTypedAccess() {
+        Row row = new Cells("1", "2.5");
+        assertThat(ValueConverter.of(long.class).get(row, 0), is(1L));
+        assertThat(ValueConverter.of(double.class).getDouble(row, 1), is(2.5));
+        assertThat(ValueConverter.of(BigInteger.class).get(row, 0), is(BigInteger.ONE));
+    }
+
+    @Test
+    void primitiveAccessIsWidenedOnly() {
+        Row row = new Cells("1");
+        assertThat(ValueConverter.of(int.class).getLong(row, 0), is(1L));
+        assertThrows(IllegalStateException.class, () -> ValueConverter.of(double.class).getLong(row, 0));
+        assertThrows(IllegalStateException.class, () -> ValueConverter.of(String.class).getDouble(row, 0));
+    }
+}
@@ -0,0 +1,101 @@
+package diergo.csv;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static diergo.csv.Maps.toMaps;
+import static diergo.csv.Maps.withValuesMapped;
+import static diergo.csv.ValueParserBuilder.valueParser;
+import static diergo.csv.Values.parsedValue;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+class ValueParserTest {
+
+    private final Map<String, Class<?>> types = new HashMap<>();
+
+    {
+        types.put("count", int.class);
+        types.put("amount", BigDecimal.class);
+        types.put("unit", TimeUnit.class);
+    }
+
+    @Test
+    void rowsAreConvertedToTypedMaps() {
+        ValueParser parser = valueParser().withTypes(types).build();
+        Row header = new Cells("name", "count", "amount", "unit");
+        Row row = new Cells("test", "42", "4.20", "DAYS");
+
+        assertThat(parser.apply(header), is(emptyList()));
+        List<Map<String, Object>> result = parser.apply(row);
+        Map<String, Object> reference = withValuesMapped(HashMap::new, parsedValue(types))
+                .apply(toMaps(asList("name", "count", "amount", "unit")).apply(row).get(0));
+        assertThat(result.size(), is(1));
+        assertThat(result.get(0), is(reference));
+        assertThat(result.get(0).keySet().toString(), is("[name, count, amount, unit]"));
+    }
+
+    @Test
+    void dataRowsAreNotIteratedForPlan() {
+        ValueParser parser = valueParser().withTypes(types).build();
+        parser.apply(new Cells("name", "count"));
+        Row row = spy(new Cells("test", "42"));
+
+        parser.apply(row);
+
+        verify(row, never()).spliterator();
+        verify(row, never()).iterator();
+    }
+
+    @Test
+    void commentIsIgnored() {
+        assertThat(valueParser().build(asList("one")).apply(new Comment("what?")), is(emptyList()));
+    }
+
+    @Test
+    void cellsAreConvertedByIndex() {
+        ValueParser parser = valueParser().withType("count", Integer.class).withType("size", long.class)
+                .withType("ratio", Double.class).build(asList("name", "count", "size", "ratio"));
+        Row row = new Cells("test", "42", "12345678901", "0.5");
+
+        assertThat(parser.get(row, 0), is("test"));
+        assertThat(parser.get(row, 1), is(42));
+        assertThat(parser.getInt(row, 1), is(42));
+        assertThat(parser.getLong(row, 1), is(42L));
+        assertThat(parser.getDouble(row, 1), is(42.0));
+        assertThat(parser.getLong(row, 2), is(12345678901L));
+        assertThat(parser.getDouble(row, 3), is(0.5));
+    }
+
+    @Test
+    void primitiveAccessOfOtherTypesIsRejected() {
+        ValueParser parser = valueParser().withType("size", long.class).build(asList("name", "size"));
+        Row row = new Cells("test", "1");
+
+        assertThrows(IllegalStateException.class, () -> parser.getInt(row, 0));
+        assertThrows(IllegalStateException.class, () -> parser.getInt(row, 1));
+    }
+
+    @Test
+    void accessByIndexNeedsHeader() {
+        assertThrows(IllegalStateException.class, () -> valueParser().build().get(new Cells("1"), 0));
+    }
+
+    @Test
+    void unknownEnumConstantIsRejected() {
+        ValueParser parser = valueParser().withTypes(types).build(asList("unit"));
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class, () -> parser.apply(new Cells("WEEKS")));
+        assertThat(error.getMessage(), is("No enum constant java.util.concurrent.TimeUnit.WEEKS"));
+    }
+}
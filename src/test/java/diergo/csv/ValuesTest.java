@@ -9,6 +9,7 @@ import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
 import java.util.stream.Stream;
 
@@ -65,6 +66,18 @@ class ValuesTest {
         assertThat(converter.apply(singletonMap("test", "other value"), "foo"), nullValue());
     }
 
+    @Test
+    void converterIsSuppliedOncePerKey() {
+        AtomicInteger supplied = new AtomicInteger();
+        BiFunction<Map<String, String>, String, Integer> converter = convertedValue(name -> {
+            supplied.incrementAndGet();
+            return Integer::parseInt;
+        });
+        assertThat(converter.apply(singletonMap("test", "1"), "test"), is(1));
+        assertThat(converter.apply(singletonMap("test", "2"), "test"), is(2));
+        assertThat(supplied.get(), is(1));
+    }
+
     static Stream<Arguments> valueAsStringProvider() {
         return Stream.of(
                 Arguments.of("foo", "foo"),
@@ -75,6 +88,8 @@ class ValuesTest {
     static Stream<Arguments> parsedValueProvider() {
         return Stream.of(
                 Arguments.of("1", Integer.class, 1),
+                Arguments.of("1", int.class, 1),
+                Arguments.of("12345678901", Long.class, 12345678901L),
                 Arguments.of("1.5", Float.class, 1.5f),
                 Arguments.of("1.5", Double.class, 1.5),
                 Arguments.of("8", BigInteger.class, new BigInteger("8")),
@@ -0,0 +1,266 @@
+package diergo.csv;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static diergo.csv.Appendables.toAppendable;
+import static diergo.csv.CsvPrinterBuilder.csvPrinter;
+import static diergo.csv.Row.DEFAULT_QUOTE;
+
+/**
+ * Configure and generate reproducible CSV data of any size. The data is generated line by line while written,
+ * so it is never held in memory:
+ * <p>
+ * {@link #csvGenerator(long) csvGenerator}(seed).{@link #columns(int) columns}(20)
+ * .{@link #writeTo(Appendable, long) writeTo}(out, 1_000_000)
+ * <p>
+ * Each line is generated by its own random generator derived from the seed and the line number, so the same
+ * configuration always generates the same data, even if the lines are generated in parallel.
+ * Cells are printed by a {@link CsvPrinterBuilder#csvPrinter() printer}, so any special content is quoted.
+ * The optional ratios are the probability of a line or cell to contain the special content.
+ */
+public final class CsvGenerator {
+
+    private static final String LETTERS = "abcdefghijklmnopqrstuvwxyz";
+    private static final long LINE_SEED_GAMMA = 0x9e3779b97f4a7c15L;
+
+    /**
+     * Creates a generator of data with 8 text columns of 1 to 16 letters.
+     *
+     * @param seed the seed of the random generator determining the data
+     */
+    public static CsvGenerator csvGenerator(long seed) {
+        return new CsvGenerator(seed);
+    }
+
+    private final long seed;
+    private char separator = ',';
+    private char quote = DEFAULT_QUOTE;
+    private char lineSep = '\n';
+    private int columns = 8;
+    private boolean header = false;
+    private boolean numbers = false;
+    private ToIntFunction<SplittableRandom> cellLengths = random -> 1 + random.nextInt(16);
+    private double quoting = 0;
+    private double embeddedSeparators = 0;
+    private double embeddedLineBreaks = 0;
+    private String commentStart = null;
+    private double comments = 0;
+    private double malformed = 0;
+
+    private CsvGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Configures the separator between cells, the default is a comma.
+     */
+    public CsvGenerator separatedBy(char separator) {
+        this.separator = separator;
+        return this;
+    }
+
+    /**
+     * Configures the quoting character, the default is {@link Row#DEFAULT_QUOTE}.
+     */
+    public CsvGenerator quotedWith(char quote) {
+        this.quote = quote;
+        return this;
+    }
+
+    /**
+     * Configures the line separator, the default is a line feed.
+     */
+    public CsvGenerator separatingLinesBy(char lineSep) {
+        this.lineSep = lineSep;
+        return this;
+    }
+
+    /**
+     * Configures the number of cells per row.
+     */
+    public CsvGenerator columns(int columns) {
+        this.columns = columns;
+        return this;
+    }
+
+    /**
+     * Enables a header line with the column names {@code column0} to {@code columnN} before the data.
+     * The header line is not counted as a row.
+     */
+    public CsvGenerator withHeader() {
+        this.header = true;
+        return this;
+    }
+
+    /**
+     * Enables numbers: the columns with an index divisible by 3 contain integers, the following ones decimals.
+     * The others still contain text.
+     *
+     * @see #types()
+     */
+    public CsvGenerator withNumbers() {
+        this.numbers = true;
+        return this;
+    }
+
+    /**
+     * Configures the length of text cells to be uniformly distributed between both values (inclusive).
+     */
+    public CsvGenerator cellLengths(int min, int max) {
+        return cellLengths(random -> min + random.nextInt(max - min + 1));
+    }
+
+    /**
+     * Configures the length distribution of text cells by a function of the random generator of the line.
+     */
+    public CsvGenerator cellLengths(ToIntFunction<SplittableRandom> distribution) {
+        this.cellLengths = distribution;
+        return this;
+    }
+
+    /**
+     * Configures the ratio of text cells containing a quote, so they are quoted with the quote doubled.
+     */
+    public CsvGenerator quoting(double ratio) {
+        this.quoting = ratio;
+        return this;
+    }
+
+    /**
+     * Configures the ratio of text cells containing the separator, so they are quoted.
+     */
+    public CsvGenerator embeddingSeparators(double ratio) {
+        this.embeddedSeparators = ratio;
+        return this;
+    }
+
+    /**
+     * Configures the ratio of text cells containing a line break, so the row spans multiple lines.
+     */
+    public CsvGenerator embeddingLineBreaks(double ratio) {
+        this.embeddedLineBreaks = ratio;
+        return this;
+    }
+
+    /**
+     * Configures the ratio of lines being a comment of text instead of a row.
+     */
+    public CsvGenerator withComments(String commentStart, double ratio) {
+        this.commentStart = commentStart;
+        this.comments = ratio;
+        return this;
+    }
+
+    /**
+     * Configures the ratio of malformed lines instead of a row. A malformed line has a quote within its first
+     * unquoted cell, so it is passed to the {@link CsvParserBuilder#handlingErrors(java.util.function.BiFunction)
+     * error handler} of a parser not being in lax mode.
+     */
+    public CsvGenerator withMalformedLines(double ratio) {
+        this.malformed = ratio;
+        return this;
+    }
+
+    /**
+     * The column types of data generated {@link #withNumbers() with numbers} by the column names of the header.
+     *
+     * @see Values#parsedValue(Map)
+     */
+    public Map<String, Class<?>> types() {
+        Map<String, Class<?>> types = new HashMap<>();
+        for (int column = 0; column < columns; column++) {
+            types.put(name(column), numbers && column % 3 == 0 ? Integer.class
+                    : numbers && column % 3 == 1 ? Double.class : String.class);
+        }
+        return types;
+    }
+
+    /**
+     * Generates the lines lazily, without line separators. A line may contain line breaks if enabled.
+     *
+     * @param count the number of rows, comments and malformed lines, not counting the header
+     */
+    public Stream<String> lines(long count) {
+        Function<Row, String> printer = csvPrinter().separatedBy(separator).quotedWith(quote)
+                .commentsStartWith(commentStart).build();
+        Stream<String> lines = LongStream.range(0, count).mapToObj(line -> line(printer, line));
+        return header ? Stream.concat(Stream.of(printer.apply(header())), lines) : lines;
+    }
+
+    /**
+     * Writes the lines to the appendable, each one followed by the line separator.
+     *
+     * @param count the number of rows, comments and malformed lines, not counting the header
+     * @see #lines(long)
+     */
+    public <R extends Appendable> R writeTo(R out, long count) {
+        return lines(count).collect(toAppendable(out, lineSep));
+    }
+
+    private Row header() {
+        List<String> names = new ArrayList<>(columns);
+        for (int column = 0; column < columns; column++) {
+            names.add(name(column));
+        }
+        return new Cells(names);
+    }
+
+    private String line(Function<Row, String> printer, long line) {
+        SplittableRandom random = new SplittableRandom(seed + line * LINE_SEED_GAMMA);
+        double kind = random.nextDouble();
+        if (kind < comments) {
+            return printer.apply(new Comment(text(random, false)));
+        }
+        if (kind < comments + malformed) {
+            return "x" + quote + printer.apply(row(random, false));
+        }
+        return printer.apply(row(random, true));
+    }
+
+    private Row row(SplittableRandom random, boolean special) {
+        List<String> cells = new ArrayList<>(columns);
+        for (int column = 0; column < columns; column++) {
+            if (numbers && column % 3 == 0) {
+                cells.add(Integer.toString(random.nextInt(1000000)));
+            } else if (numbers && column % 3 == 1) {
+                cells.add(String.format(Locale.ROOT, "%.4f", random.nextDouble() * 1000));
+            } else {
+                cells.add(text(random, special));
+            }
+        }
+        return new Cells(cells);
+    }
+
+    private String text(SplittableRandom random, boolean special) {
+        int length = Math.max(1, cellLengths.applyAsInt(random));
+        StringBuilder text = new StringBuilder(length + 3);
+        for (int i = 0; i < length; i++) {
+            text.append(LETTERS.charAt(random.nextInt(LETTERS.length())));
+        }
+        if (special) {
+            insert(random, text, quoting, quote);
+            insert(random, text, embeddedSeparators, separator);
+            insert(random, text, embeddedLineBreaks, '\n');
+        }
+        return text.toString();
+    }
+
+    private static void insert(SplittableRandom random, StringBuilder text, double ratio, char c) {
+        if (ratio > 0 && random.nextDouble() < ratio) {
+            text.insert(random.nextInt(text.length() + 1), c);
+        }
+    }
+
+    private static String name(int column) {
+        return "column" + column;
+    }
+}